@@ -0,0 +1,69 @@
+package com.example.TaskManagerBackend.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.TaskManagerBackend.models.User;
+import com.example.TaskManagerBackend.models.UserPrincipal;
+import com.example.TaskManagerBackend.service.JWTService;
+import com.example.TaskManagerBackend.service.SigningKeyRing;
+import com.example.TaskManagerBackend.service.TokenDenylist;
+
+/**
+ * Token issue and validation cost. With {@code cached} off every validation
+ * verifies the signature; with it on repeats are served from the claims
+ * cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private JWTService jwtService;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() throws IOException {
+        jwtService = new JWTService();
+        ReflectionTestUtils.setField(jwtService, "maxCachedTokens", cached ? 10_000 : 0);
+        ReflectionTestUtils.setField(jwtService, "accessTokenTtl", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(jwtService, "denylist", new TokenDenylist());
+        ReflectionTestUtils.setField(jwtService, "keyRing", keyRing());
+        ReflectionTestUtils.invokeMethod(jwtService, "buildCache");
+        principal = new UserPrincipal(new User(1, "alice", "secret", "User"));
+        token = jwtService.generateToken("alice", "User", 1L);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("alice", "User", 1L);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(token, principal);
+    }
+
+    static SigningKeyRing keyRing() throws IOException {
+        SigningKeyRing keyRing = new SigningKeyRing();
+        ReflectionTestUtils.setField(keyRing, "file", Files.createTempDirectory("jwt-keys").resolve("keys.properties"));
+        keyRing.load();
+        return keyRing;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.TaskManagerBackend.benchmarks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.TaskManagerBackend.config.JwtFilter;
+import com.example.TaskManagerBackend.service.JWTService;
+import com.example.TaskManagerBackend.service.TokenDenylist;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Per-request cost of bearer authentication in claims-principal mode, with
+ * the claims cache warm, i.e. the steady state for an active client.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+    private JwtFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private Authentication authentication;
+    private final FilterChain chain = (request, response) ->
+        authentication = SecurityContextHolder.getContext().getAuthentication();
+
+    @Setup
+    public void setUp() throws IOException {
+        JWTService jwtService = new JWTService();
+        ReflectionTestUtils.setField(jwtService, "maxCachedTokens", 10_000);
+        ReflectionTestUtils.setField(jwtService, "accessTokenTtl", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(jwtService, "denylist", new TokenDenylist());
+        ReflectionTestUtils.setField(jwtService, "keyRing", JwtBenchmark.keyRing());
+        ReflectionTestUtils.invokeMethod(jwtService, "buildCache");
+        filter = new JwtFilter();
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "claimsPrincipal", true);
+        ReflectionTestUtils.invokeMethod(filter, "registerMetrics");
+        request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken("alice", "User", 1L));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws IOException, ServletException {
+        try {
+            filter.doFilter(request, response, chain);
+            return authentication;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
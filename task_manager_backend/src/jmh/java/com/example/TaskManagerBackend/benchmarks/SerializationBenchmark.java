@@ -0,0 +1,108 @@
+package com.example.TaskManagerBackend.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.example.TaskManagerBackend.models.Task;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Encode and decode cost of task lists in each wire format the API
+ * negotiates. The payload counters report bytes per list, raw and gzipped,
+ * so size and CPU can be compared in one run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private List<Task> tasks;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+        public long gzipBytes;
+
+        @Setup(Level.Iteration)
+        public void measure(SerializationBenchmark benchmark) throws IOException {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(benchmark.encoded);
+            }
+            payloadBytes = benchmark.encoded.length;
+            gzipBytes = compressed.size();
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new BlackbirdModule());
+        mapper = switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build()).build();
+            default -> builder.build();
+        };
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, Task.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Status[] statuses = Status.values();
+        Priority[] priorities = Priority.values();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task(i + 1, "Task " + i, "Description of task " + i,
+                statuses[random.nextInt(statuses.length)], LocalDateTime.now().minusMinutes(i),
+                priorities[random.nextInt(priorities.length)]);
+            task.setOwnerId(1L);
+            tasks.add(task);
+        }
+        encoded = mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serialize(Payload payload) throws IOException {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<Task> deserialize() throws IOException {
+        return mapper.readValue(encoded, listType);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.TaskManagerBackend.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.TaskManagerBackend.TaskManagerBackendApplication;
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.TaskPage;
+import com.example.TaskManagerBackend.models.TaskSearchResult;
+import com.example.TaskManagerBackend.models.User;
+import com.example.TaskManagerBackend.models.UserPrincipal;
+import com.example.TaskManagerBackend.repository.UserRepository;
+import com.example.TaskManagerBackend.service.TaskService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * TaskService calls against the full application context on an in-memory
+ * H2 database (the "bench" profile), so the caches, transactions and
+ * Hibernate mapping are the ones production uses; only the database differs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    @Param({"10000"})
+    public int existingTasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private EntityManagerFactory entityManagerFactory;
+    private UserPrincipal principal;
+    private int[] ids;
+
+    @State(Scope.Thread)
+    public static class Caller {
+        @Setup(Level.Trial)
+        public void signIn(TaskServiceBenchmark benchmark) {
+            benchmark.signIn();
+        }
+
+        @TearDown(Level.Trial)
+        public void signOut() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(TaskManagerBackendApplication.class).profiles("bench").run();
+        taskService = context.getBean(TaskService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        User user = context.getBean(UserRepository.class).save(new User(0, "bench", "unused", "User"));
+        principal = new UserPrincipal(user);
+
+        signIn();
+        try {
+            List<Task> created = new ArrayList<>(existingTasks);
+            for (int from = 0; from < existingTasks; from += 1000) {
+                List<Task> batch = new ArrayList<>();
+                for (int i = from; i < Math.min(from + 1000, existingTasks); i++) {
+                    batch.add(newTask(i));
+                }
+                created.addAll(taskService.createTasks(batch));
+            }
+            ids = created.stream().mapToInt(task -> (int) task.getId()).toArray();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private void signIn() {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static Task newTask(int i) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Task(0, "Task " + i, "Benchmark task number " + i, STATUSES[random.nextInt(STATUSES.length)],
+            LocalDateTime.now(), PRIORITIES[random.nextInt(PRIORITIES.length)]);
+    }
+
+    private int randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    @Benchmark
+    public Task createTask(Caller caller) {
+        return taskService.createTask(newTask(ThreadLocalRandom.current().nextInt(1_000_000)));
+    }
+
+    @Benchmark
+    public Task getTask(Caller caller) {
+        return taskService.getTask(randomId());
+    }
+
+    @Benchmark
+    public Task updateTask(Caller caller) {
+        return taskService.updateTask(randomId(), newTask(ThreadLocalRandom.current().nextInt(1_000_000)));
+    }
+
+    @Benchmark
+    public TaskPage keysetPage(Caller caller) {
+        return taskService.getTaskPage(Status.OPEN, null, null, 50);
+    }
+
+    @Benchmark
+    public List<Task> listAll(Caller caller) {
+        return taskService.getAllTasks();
+    }
+
+    @Benchmark
+    public TaskSearchResult indexSearch(Caller caller) {
+        return taskService.searchTasks("number 42", 0, 20);
+    }
+
+    /** The LIKE scan the search index replaces, for comparison. */
+    @Benchmark
+    public List<Task> likeSearch(Caller caller) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("""
+                    select t from Task t
+                    where t.ownerId = :ownerId
+                      and (lower(t.title) like :query or lower(t.description) like :query)
+                    """, Task.class)
+                .setParameter("ownerId", principal.getId())
+                .setParameter("query", "%number 42%")
+                .setMaxResults(20)
+                .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.TaskManagerBackend.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency and outcome counts for one endpoint. Latencies are recorded in
+ * microseconds from the time the request was scheduled to start, not from
+ * when it was sent, so a stalled server cannot hide its queueing delay.
+ */
+final class EndpointStats {
+
+    private final Operation operation;
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void completed(int status, long micros) {
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        latency.recordValue(Math.max(0, micros));
+    }
+
+    /** The request never got a response: connection refused, reset or timed out. */
+    void failed(long micros) {
+        failures.increment();
+        latency.recordValue(Math.max(0, micros));
+    }
+
+    /** The request was not sent because too many were already outstanding. */
+    void dropped() {
+        dropped.increment();
+    }
+
+    Operation operation() {
+        return operation;
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+
+    long requests() {
+        return latency.getTotalCount() + dropped.sum();
+    }
+
+    long errors() {
+        long errors = failures.sum() + dropped.sum();
+        for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+            if (entry.getKey() >= 400) {
+                errors += entry.getValue().sum();
+            }
+        }
+        return errors;
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    Map<Integer, Long> statusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
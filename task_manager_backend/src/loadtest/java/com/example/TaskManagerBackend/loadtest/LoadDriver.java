@@ -0,0 +1,250 @@
+package com.example.TaskManagerBackend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Open-model load driver: requests start on a fixed schedule whether or not
+ * earlier ones have finished, the way independent users arrive in
+ * production. Inter-arrival times are exponential by default so bursts
+ * occur naturally.
+ */
+final class LoadDriver {
+
+    private static final String USER_PREFIX = "seed-user-";
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final LoadOptions options;
+    private final URI baseUri;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<Session> sessions = new ArrayList<>();
+
+    LoadDriver(LoadOptions options, URI baseUri) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        this.operations = options.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /** Signs every user in, runs the warm-up, then the measured phase. */
+    Map<Operation, EndpointStats> run() {
+        signIn();
+        if (!options.warmup().isZero()) {
+            drive(options.warmup(), newStats());
+        }
+        Map<Operation, EndpointStats> stats = newStats();
+        drive(options.duration(), stats);
+        return stats;
+    }
+
+    private void signIn() {
+        for (int i = 0; i < options.users(); i++) {
+            sessions.add(new Session(USER_PREFIX + i));
+        }
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (Session session : sessions) {
+            pending.add(client.sendAsync(login(session), HttpResponse.BodyHandlers.ofString())
+                .thenCompose(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Login failed for " + session.username + " with status "
+                            + response.statusCode() + ". Is the server seeded with the same users and password?");
+                    }
+                    session.token = response.body();
+                    return client.sendAsync(authorized("/tasks/page?size=100", session).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                })
+                .thenAccept(response -> {
+                    for (JsonNode task : readTree(response.body()).path("tasks")) {
+                        session.taskIds.add(task.path("id").asLong());
+                    }
+                }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        System.out.printf("Signed in %d users%n", sessions.size());
+    }
+
+    private void drive(Duration length, Map<Operation, EndpointStats> stats) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+        long next = start;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Session session = sessions.get(random.nextInt(sessions.size()));
+            Operation operation = pick(random);
+            if (operation.needsTask() && session.taskIds.isEmpty()) {
+                operation = Operation.CREATE;
+            }
+            send(operation, session, next, stats.get(operation));
+            next += options.poisson()
+                ? (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos)
+                : (long) meanIntervalNanos;
+        }
+        drain();
+    }
+
+    private void send(Operation operation, Session session, long scheduledAt, EndpointStats stats) {
+        if (inFlight.get() >= options.maxInFlight()) {
+            stats.dropped();
+            return;
+        }
+        inFlight.incrementAndGet();
+        client.sendAsync(request(operation, session), HttpResponse.BodyHandlers.ofString())
+            .whenComplete((response, failure) -> {
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt);
+                try {
+                    if (failure != null) {
+                        stats.failed(micros);
+                    } else {
+                        stats.completed(response.statusCode(), micros);
+                        onResponse(operation, session, response);
+                    }
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+    }
+
+    private HttpRequest request(Operation operation, Session session) {
+        return switch (operation) {
+            case LOGIN -> login(session);
+            case LIST -> authorized("/tasks", session).GET().build();
+            case PAGE -> authorized("/tasks/page?size=50", session).GET().build();
+            case GET -> authorized("/task/" + session.randomTaskId(), session).GET().build();
+            case CREATE -> authorized("/createtask", session)
+                .POST(json(taskBody("Load task " + ThreadLocalRandom.current().nextInt(1_000_000))))
+                .build();
+            case UPDATE -> authorized("/updatetask/" + session.randomTaskId(), session)
+                .PUT(json(taskBody("Updated task " + ThreadLocalRandom.current().nextInt(1_000_000))))
+                .build();
+        };
+    }
+
+    private void onResponse(Operation operation, Session session, HttpResponse<String> response) {
+        if (operation == Operation.LOGIN && response.statusCode() == 200) {
+            session.token = response.body();
+        } else if (operation == Operation.CREATE && response.statusCode() == 201) {
+            session.taskIds.add(readTree(response.body()).path("id").asLong());
+        }
+    }
+
+    private HttpRequest login(Session session) {
+        ObjectNode body = mapper.createObjectNode()
+            .put("username", session.username)
+            .put("password", options.password());
+        return HttpRequest.newBuilder(baseUri.resolve("/login"))
+            .timeout(options.requestTimeout())
+            .header("Content-Type", "application/json")
+            .POST(json(body))
+            .build();
+    }
+
+    private HttpRequest.Builder authorized(String path, Session session) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(options.requestTimeout())
+            .header("Authorization", "Bearer " + session.token)
+            .header("Accept", "application/json")
+            .header("Content-Type", "application/json");
+    }
+
+    private ObjectNode taskBody(String title) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return mapper.createObjectNode()
+            .put("title", title)
+            .put("description", "Created by the load driver")
+            .put("status", STATUSES[random.nextInt(STATUSES.length)].name())
+            .put("priority", PRIORITIES[random.nextInt(PRIORITIES.length)].name());
+    }
+
+    private HttpRequest.BodyPublisher json(JsonNode body) {
+        return HttpRequest.BodyPublishers.ofString(body.toString());
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return mapper.readTree(body);
+        } catch (Exception e) {
+            return mapper.missingNode();
+        }
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        int target = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (target < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private Map<Operation, EndpointStats> newStats() {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+        return stats;
+    }
+
+    /** Waits for outstanding requests so their latencies land in this phase. */
+    private void drain() {
+        long deadline = System.nanoTime() + options.requestTimeout().toNanos() * 2;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private static final class Session {
+        private final String username;
+        private final List<Long> taskIds = new CopyOnWriteArrayList<>();
+        private volatile String token;
+
+        private Session(String username) {
+            this.username = username;
+        }
+
+        long randomTaskId() {
+            List<Long> ids = taskIds;
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.TaskManagerBackend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties so they
+ * can be passed straight through {@code ./gradlew loadTest -D...}.
+ */
+record LoadOptions(
+        String baseUrl,
+        double rate,
+        boolean poisson,
+        Duration warmup,
+        Duration duration,
+        int users,
+        String password,
+        Map<Operation, Integer> mix,
+        int maxInFlight,
+        Duration requestTimeout,
+        Path reportDir,
+        double maxErrorRate) {
+
+    static final String DEFAULT_MIX = "login=2,list=8,page=20,get=40,create=15,update=15";
+
+    static LoadOptions fromSystemProperties() {
+        return new LoadOptions(
+            System.getProperty("loadtest.base-url"),
+            Double.parseDouble(property("loadtest.rate", "200")),
+            !"constant".equalsIgnoreCase(property("loadtest.arrival", "poisson")),
+            Duration.parse(property("loadtest.warmup", "PT10S")),
+            Duration.parse(property("loadtest.duration", "PT60S")),
+            Integer.parseInt(property("loadtest.users", property("seed.users", "200"))),
+            property("loadtest.password", property("seed.password", "password")),
+            parseMix(property("loadtest.mix", DEFAULT_MIX)),
+            Integer.parseInt(property("loadtest.max-in-flight", "10000")),
+            Duration.parse(property("loadtest.request-timeout", "PT10S")),
+            Path.of(property("loadtest.report-dir", "reports/loadtest")),
+            Double.parseDouble(property("loadtest.max-error-rate", "0.05")));
+    }
+
+    /** Parses {@code name=weight} pairs, e.g. {@code get=40,create=15}. */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected name=weight in loadtest.mix but got: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no operations with a positive weight");
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+}
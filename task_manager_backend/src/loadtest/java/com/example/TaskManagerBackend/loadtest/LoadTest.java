@@ -0,0 +1,127 @@
+package com.example.TaskManagerBackend.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.TaskManagerBackend.TaskManagerBackendApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Boots the application with the {@code loadtest} and {@code seed} profiles,
+ * which run it on an in-memory database filled by the data seeder, then
+ * drives load against it over HTTP. Set {@code loadtest.base-url} to point
+ * the driver at an already running server instead.
+ *
+ * <p>Prints a summary per endpoint and writes {@code report.json} plus one
+ * HdrHistogram percentile distribution per endpoint to
+ * {@code loadtest.report-dir}. Exits non-zero when the overall error rate
+ * exceeds {@code loadtest.max-error-rate}.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws IOException {
+        LoadOptions options = LoadOptions.fromSystemProperties();
+        ConfigurableApplicationContext app = null;
+        URI baseUri;
+        if (options.baseUrl() == null) {
+            app = new SpringApplicationBuilder(TaskManagerBackendApplication.class)
+                .profiles("loadtest", "seed")
+                .run(args);
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            baseUri = URI.create("http://localhost:" + port);
+        } else {
+            baseUri = URI.create(options.baseUrl());
+        }
+
+        Map<Operation, EndpointStats> stats;
+        try {
+            System.out.printf("Driving %.0f req/s (%s arrivals) at %s for %s after %s warm-up%n", options.rate(),
+                options.poisson() ? "poisson" : "constant", baseUri, options.duration(), options.warmup());
+            stats = new LoadDriver(options, baseUri).run();
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+
+        double errorRate = report(options, stats);
+        System.exit(errorRate > options.maxErrorRate() ? 1 : 0);
+    }
+
+    private static double report(LoadOptions options, Map<Operation, EndpointStats> stats) throws IOException {
+        Path dir = options.reportDir();
+        Files.createDirectories(dir);
+        double seconds = options.duration().toMillis() / 1000.0;
+        long requests = 0;
+        long errors = 0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        System.out.printf("%n%-22s %9s %9s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s",
+            "errors", "err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats endpoint : stats.values()) {
+            if (endpoint.requests() == 0) {
+                continue;
+            }
+            Histogram latency = endpoint.latency();
+            String name = endpoint.operation().endpoint();
+            double errorRate = (double) endpoint.errors() / endpoint.requests();
+            System.out.printf("%-22s %9d %9.1f %8d %6.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                endpoint.requests(), endpoint.requests() / seconds, endpoint.errors(), errorRate * 100,
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                latency.getMaxValue() / 1000.0);
+            requests += endpoint.requests();
+            errors += endpoint.errors();
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", endpoint.requests());
+            summary.put("throughput", endpoint.requests() / seconds);
+            summary.put("errors", endpoint.errors());
+            summary.put("errorRate", errorRate);
+            summary.put("failures", endpoint.failures());
+            summary.put("dropped", endpoint.droppedCount());
+            summary.put("statuses", endpoint.statusCounts());
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (double percentile : new double[] { 50, 90, 99, 99.9, 99.99 }) {
+                percentiles.put("p" + percentile, millis(latency, percentile));
+            }
+            percentiles.put("max", latency.getMaxValue() / 1000.0);
+            summary.put("latencyMillis", percentiles);
+            endpoints.put(name, summary);
+
+            Path histogramFile = dir.resolve(endpoint.operation().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(histogramFile))) {
+                latency.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        double errorRate = requests == 0 ? 0 : (double) errors / requests;
+        System.out.printf("%-22s %9d %9.1f %8d %6.2f%%%n", "total", requests, requests / seconds, errors,
+            errorRate * 100);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("targetRate", options.rate());
+        report.put("arrival", options.poisson() ? "poisson" : "constant");
+        report.put("durationSeconds", seconds);
+        report.put("users", options.users());
+        report.put("requests", requests);
+        report.put("throughput", requests / seconds);
+        report.put("errorRate", errorRate);
+        report.put("endpoints", endpoints);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(dir.resolve("report.json").toFile(), report);
+        System.out.printf("%nReports written to %s%n", dir.toAbsolutePath());
+        return errorRate;
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.TaskManagerBackend.loadtest;
+
+/** The requests a virtual user can make, labelled by endpoint in the report. */
+enum Operation {
+    LOGIN("POST /login", false),
+    LIST("GET /tasks", false),
+    PAGE("GET /tasks/page", false),
+    GET("GET /task/{id}", true),
+    CREATE("POST /createtask", false),
+    UPDATE("PUT /updatetask/{id}", true);
+
+    private final String endpoint;
+    private final boolean needsTask;
+
+    Operation(String endpoint, boolean needsTask) {
+        this.endpoint = endpoint;
+        this.needsTask = needsTask;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    boolean needsTask() {
+        return needsTask;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.TaskManagerBackend.config;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes second-level cache evictions. Hit, miss and put counts come from
+ * Hibernate's own statistics binder; evictions are only known to the JCache
+ * provider, which reports them over JMX.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("hibernate.second.level.cache.evictions", this, CacheMetrics::evictions)
+            .description("Entries evicted from second-level cache regions")
+            .register(registry);
+    }
+
+    private double evictions() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        double total = 0;
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                total += ((Number) server.getAttribute(name, "CacheEvictions")).doubleValue();
+            }
+        } catch (JMException e) {
+            return Double.NaN;
+        }
+        return total;
+    }
+}
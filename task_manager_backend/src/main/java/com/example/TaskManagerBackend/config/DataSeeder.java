@@ -0,0 +1,186 @@
+package com.example.TaskManagerBackend.config;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills the database with generated users and tasks for latency testing.
+ * Task counts per user follow a Zipf distribution so a few users own most
+ * of the rows. Status and priority are drawn using the relative weights in
+ * {@code seed.status-weights} and {@code seed.priority-weights}, listed in
+ * enum order, or uniformly when unset. Every user gets the password
+ * {@code seed.password}.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+public class DataSeeder implements CommandLineRunner {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${seed.users:10000}")
+    private int users;
+
+    @Value("${seed.tasks:5000000}")
+    private long tasks;
+
+    @Value("${seed.skew:1.1}")
+    private double skew;
+
+    @Value("${seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${seed.password:password}")
+    private String password;
+
+    @Value("${seed.status-weights:}")
+    private double[] statusWeights;
+
+    @Value("${seed.priority-weights:}")
+    private double[] priorityWeights;
+
+    @Override
+    public void run(String... args) {
+        long started = System.nanoTime();
+        String hash = passwordEncoder.encode(password);
+        long[] userIds = new long[users];
+        for (int from = 0; from < users; from += batchSize) {
+            int start = from;
+            int end = Math.min(from + batchSize, users);
+            inTransaction(() -> {
+                for (int i = start; i < end; i++) {
+                    User user = new User(0, "seed-user-" + i, hash, "User");
+                    entityManager.persist(user);
+                    userIds[i] = user.getId();
+                }
+            });
+        }
+
+        OwnerCursor owners = new OwnerCursor(userIds, taskCounts());
+        Weighted<Status> statuses = new Weighted<>(Status.values(), statusWeights);
+        Weighted<Priority> priorities = new Weighted<>(Priority.values(), priorityWeights);
+        LocalDateTime now = LocalDateTime.now();
+        for (long from = 0; from < tasks; from += batchSize) {
+            long chunk = Math.min(batchSize, tasks - from);
+            inTransaction(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (long i = 0; i < chunk; i++) {
+                    Task task = new Task(0, "Task " + random.nextInt(1_000_000), "Generated task",
+                        statuses.pick(random), now.minusSeconds(random.nextInt(31_536_000)),
+                        priorities.pick(random));
+                    task.setOwnerId(owners.next());
+                    entityManager.persist(task);
+                }
+            });
+        }
+        log.info("Seeded {} users and {} tasks in {} s", users, tasks, (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    /**
+     * Splits the task total across users in proportion to 1 / rank^skew,
+     * handing any rounding remainder to the busiest user.
+     */
+    private long[] taskCounts() {
+        double[] weights = new double[users];
+        double total = 0;
+        for (int i = 0; i < users; i++) {
+            weights[i] = 1 / Math.pow(i + 1, skew);
+            total += weights[i];
+        }
+        long[] counts = new long[users];
+        long assigned = 0;
+        for (int i = 0; i < users; i++) {
+            counts[i] = (long) Math.floor(tasks * weights[i] / total);
+            assigned += counts[i];
+        }
+        counts[0] += tasks - assigned;
+        return counts;
+    }
+
+    private void inTransaction(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            work.run();
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    /** Hands out owner ids so each user receives exactly its share of tasks. */
+    private static final class OwnerCursor {
+        private final long[] userIds;
+        private final long[] counts;
+        private int user;
+        private long left;
+
+        private OwnerCursor(long[] userIds, long[] counts) {
+            this.userIds = userIds;
+            this.counts = counts;
+            this.left = counts[0];
+        }
+
+        long next() {
+            while (left == 0) {
+                left = counts[++user];
+            }
+            left--;
+            return userIds[user];
+        }
+    }
+
+    /** Picks enum constants with the configured relative weights. */
+    private static final class Weighted<E extends Enum<E>> {
+        private final E[] values;
+        private final double[] cumulative;
+
+        private Weighted(E[] values, double[] weights) {
+            if (weights.length != 0 && weights.length != values.length) {
+                throw new IllegalArgumentException("Expected " + values.length + " weights for "
+                    + values[0].getDeclaringClass().getSimpleName() + " but got " + weights.length);
+            }
+            this.values = values;
+            this.cumulative = new double[values.length];
+            double total = 0;
+            for (int i = 0; i < values.length; i++) {
+                total += weights.length == 0 ? 1 : weights[i];
+                cumulative[i] = total;
+            }
+        }
+
+        E pick(ThreadLocalRandom random) {
+            double target = random.nextDouble(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length - 1; i++) {
+                if (target < cumulative[i]) {
+                    return values[i];
+                }
+            }
+            return values[values.length - 1];
+        }
+    }
+}
@@ -4,17 +4,22 @@ import java.io.IOException;
 
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example.TaskManagerBackend.models.User;
+import com.example.TaskManagerBackend.models.UserPrincipal;
 import com.example.TaskManagerBackend.service.JWTService;
 import com.example.TaskManagerBackend.service.MyUserDetailsService;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -27,27 +32,61 @@ public class JwtFilter extends OncePerRequestFilter{
     private JWTService jwtService;
 
     @Autowired
-    ApplicationContext context;
+    private MyUserDetailsService userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.claims-principal.enabled:false}")
+    private boolean claimsPrincipal;
+
+    private Timer authenticationTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        authenticationTimer = Timer.builder("security.jwt.authentication")
+            .description("Time spent authenticating a bearer token")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws IOException, ServletException{
+       Timer.Sample sample = Timer.start(meterRegistry);
+       try {
+           authenticate(request);
+       } finally {
+           sample.stop(authenticationTimer);
+       }
+       filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request) {
        String authHeader = request.getHeader("Authorization");
-       String token = null;
+       Claims claims = null;
        String username = null;
        if (authHeader!= null && authHeader.startsWith("Bearer ")){
-            token = authHeader.substring(7);
-            username = jwtService.extractUserName(token);
+            claims = jwtService.extractClaims(authHeader.substring(7));
+            username = claims.getSubject();
        }
        if(username!=null&& SecurityContextHolder.getContext().getAuthentication()==null){
-            UserDetails userDetails = context.getBean(MyUserDetailsService.class).loadUserByUsername(username);
+            UserDetails userDetails = loadPrincipal(username, claims);
 
-            if(jwtService.validateToken(token,userDetails)){
+            if(jwtService.validateToken(claims,userDetails)){
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
        }
-       filterChain.doFilter(request, response);
+    }
+
+    private UserDetails loadPrincipal(String username, Claims claims) {
+        String role = claims.get(JWTService.ROLE_CLAIM, String.class);
+        Long userId = claims.get(JWTService.USER_ID_CLAIM, Long.class);
+        if (claimsPrincipal && role != null && userId != null) {
+            return new UserPrincipal(new User(userId, username, null, role));
+        }
+        return userDetailsService.loadUserByUsername(username);
     }
 
 }
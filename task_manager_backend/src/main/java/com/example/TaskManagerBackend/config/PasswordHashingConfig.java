@@ -0,0 +1,30 @@
+package com.example.TaskManagerBackend.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    @Value("${security.bcrypt.strength:12}")
+    private int strength;
+
+    @Value("${security.password-hashing.threads:2}")
+    private int threads;
+
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${security.password-hashing.timeout:PT5S}")
+    private Duration timeout;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, timeout);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.TaskManagerBackend.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-client rate limiting and global admission control. Each client (the
+ * authenticated user, otherwise the remote address) gets a separate budget
+ * per endpoint class, enforced with GCRA so a bucket is a single atomic
+ * timestamp. Requests beyond the budget get 429. Independently, a fixed
+ * number of requests may be in flight at once; the rest get 503 after a
+ * short wait so the connection pool is never queued on. Authentication
+ * requests wait on the password hashing pool rather than the database, so
+ * they are admitted through a separate, smaller limit and a login burst
+ * cannot starve task traffic.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> PROBE_PATHS = Set.of("/livez", "/readyz");
+    private static final Set<String> AUTH_PATHS = Set.of("/login", "/createuser", "/refresh");
+    private static final Set<String> LIST_PATHS = Set.of("/tasks", "/tasks/page", "/tasks/search", "/tasks/export",
+        "/tasks/changes", "/users");
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.auth.per-second:1}")
+    private double authRate;
+
+    @Value("${rate-limit.auth.burst:5}")
+    private int authBurst;
+
+    @Value("${rate-limit.list.per-second:10}")
+    private double listRate;
+
+    @Value("${rate-limit.list.burst:20}")
+    private int listBurst;
+
+    @Value("${rate-limit.default.per-second:50}")
+    private double defaultRate;
+
+    @Value("${rate-limit.default.burst:100}")
+    private int defaultBurst;
+
+    @Value("${rate-limit.max-concurrent:64}")
+    private int maxConcurrent;
+
+    @Value("${rate-limit.admission-timeout:PT0.05S}")
+    private Duration admissionTimeout;
+
+    @Value("${rate-limit.auth.max-concurrent:4}")
+    private int maxConcurrentAuth;
+
+    private LongSupplier nanoClock = System::nanoTime;
+    private Semaphore admission;
+    private Semaphore authAdmission;
+    private Limit auth;
+    private Limit list;
+    private Limit other;
+    private Counter rateLimited;
+    private Counter shed;
+
+    @PostConstruct
+    void init() {
+        admission = new Semaphore(maxConcurrent);
+        authAdmission = new Semaphore(maxConcurrentAuth);
+        auth = new Limit("auth", authRate, authBurst);
+        list = new Limit("list", listRate, listBurst);
+        other = new Limit("default", defaultRate, defaultBurst);
+        rateLimited = Counter.builder("http.server.requests.rejected").tag("reason", "rate-limit")
+            .description("Requests rejected because the client exceeded its budget")
+            .register(meterRegistry);
+        shed = Counter.builder("http.server.requests.rejected").tag("reason", "overload")
+            .description("Requests shed because too many were in flight")
+            .register(meterRegistry);
+        Gauge.builder("http.server.requests.admitted", () -> maxConcurrent - admission.availablePermits())
+            .description("Requests currently holding an admission permit")
+            .tag("pool", "default")
+            .register(meterRegistry);
+        Gauge.builder("http.server.requests.admitted", () -> maxConcurrentAuth - authAdmission.availablePermits())
+            .description("Requests currently holding an admission permit")
+            .tag("pool", "auth")
+            .register(meterRegistry);
+        Gauge.builder("http.server.requests.rate-limit.buckets", buckets, Map::size)
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !enabled || path.startsWith("/actuator") || PROBE_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Limit limit = limitFor(request.getServletPath());
+        long now = nanoClock.getAsLong();
+        long retryAfter = buckets.computeIfAbsent(clientKey(request) + '|' + limit.name, key -> new Bucket(now))
+            .tryAcquire(limit, now);
+        if (retryAfter > 0) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+            return;
+        }
+        Semaphore permits = limit == auth ? authAdmission : admission;
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(admissionTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Limit limitFor(String path) {
+        if (AUTH_PATHS.contains(path)) {
+            return auth;
+        }
+        return LIST_PATHS.contains(path) ? list : other;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos) {
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999))));
+    }
+
+    /**
+     * Drops buckets that have fully refilled; a missing bucket behaves
+     * exactly like a full one, so nothing is forgotten.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.theoreticalArrival.get() - now <= 0);
+        log.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+    }
+
+    private record Limit(String name, long emissionInterval, long tolerance) {
+        Limit(String name, double perSecond, int burst) {
+            this(name, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond), (long) (TimeUnit.SECONDS.toNanos(1) / perSecond) * burst);
+        }
+    }
+
+    private static final class Bucket {
+        private final AtomicLong theoreticalArrival;
+
+        Bucket(long now) {
+            theoreticalArrival = new AtomicLong(now);
+        }
+
+        /** Returns 0 when the request conforms, otherwise nanoseconds until it would. */
+        long tryAcquire(Limit limit, long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = Math.max(current - now, 0) + now + limit.emissionInterval();
+                long excess = next - now - limit.tolerance();
+                if (excess > 0) {
+                    return excess;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.TaskManagerBackend.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Remembers which users committed a write recently so their reads can be
+ * kept on the primary until replicas have caught up. Read-write commits by
+ * the authenticated user are recorded automatically; writes made on behalf
+ * of someone else, such as signing up, are recorded explicitly.
+ */
+@Component
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+
+    @Value("${app.datasource.read-your-writes-window:PT5S}")
+    private Duration window;
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            String username = currentUsername();
+            if (username != null) {
+                recordWrite(username);
+            }
+        }
+    }
+
+    public void recordWrite(String username) {
+        recentWriters.put(username, System.nanoTime() + window.toNanos());
+    }
+
+    public boolean wroteRecently(String username) {
+        Long until = username == null ? null : recentWriters.get(username);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    /** Whether reads on this thread must go to the primary. */
+    public boolean readFromPrimary() {
+        return PINNED.get() != null || wroteRecently(currentUsername());
+    }
+
+    /** Runs a lookup for the given user, on the primary if they wrote recently. */
+    public <T> T readFor(String username, Supplier<T> read) {
+        if (!wroteRecently(username) || PINNED.get() != null) {
+            return read.get();
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.read-your-writes-window:PT5S}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> until - now <= 0);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+}
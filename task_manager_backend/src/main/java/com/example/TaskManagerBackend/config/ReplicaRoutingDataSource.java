@@ -0,0 +1,95 @@
+package com.example.TaskManagerBackend.config;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spreads read-only connections across the healthy replicas round-robin.
+ * Falls back to the primary when no replica is healthy or when the current
+ * user has to read their own recent writes.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final List<DataSource> replicas;
+    private final AtomicBoolean[] healthy;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker readYourWrites) {
+        this.replicas = List.copyOf(replicas);
+        this.healthy = new AtomicBoolean[replicas.size()];
+        this.readYourWrites = readYourWrites;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+            healthy[i] = new AtomicBoolean(true);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (readYourWrites.readFromPrimary()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            int candidate = (start + i) % replicas.size();
+            if (healthy[candidate].get()) {
+                return candidate;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /** Probes every replica and takes failing ones out of rotation. */
+    public void checkHealth(int timeoutSeconds) {
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean up;
+            try (Connection connection = replicas.get(i).getConnection()) {
+                up = connection.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                up = false;
+            }
+            if (healthy[i].getAndSet(up) != up) {
+                log.warn("Replica {} is now {}", i, up ? "healthy" : "unhealthy");
+            }
+        }
+    }
+
+    public boolean isHealthy(int replica) {
+        return healthy[replica].get();
+    }
+
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica pool", e);
+                }
+            }
+        }
+    }
+}
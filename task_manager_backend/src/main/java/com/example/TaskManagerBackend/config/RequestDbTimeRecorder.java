@@ -0,0 +1,63 @@
+package com.example.TaskManagerBackend.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Adds up the time spent in repository calls while serving a request and
+ * records the total per endpoint once the request completes. Timers are
+ * registered once per method and route and looked up from a map afterwards,
+ * so a request does not rebuild its meter id.
+ */
+@Component
+public class RequestDbTimeRecorder implements RepositoryMethodInvocationListener, HandlerInterceptor {
+
+    private static final String DB_NANOS = RequestDbTimeRecorder.class.getName() + ".dbNanos";
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Long total = (Long) attributes.getAttribute(DB_NANOS, RequestAttributes.SCOPE_REQUEST);
+        long nanos = invocation.getDuration(TimeUnit.NANOSECONDS);
+        attributes.setAttribute(DB_NANOS, total == null ? nanos : total + nanos, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Long total = (Long) request.getAttribute(DB_NANOS);
+        timer(request.getMethod(), pattern == null ? "UNKNOWN" : pattern.toString())
+            .record(total == null ? 0 : total, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String method, String uri) {
+        return timers.computeIfAbsent(method + ' ' + uri, key -> Timer.builder("http.server.requests.db")
+            .description("Time spent in repository calls per request")
+            .tag("method", method)
+            .tag("uri", uri)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.TaskManagerBackend.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to replicas and everything else to the
+ * primary. The lazy proxy defers fetching a physical connection until the
+ * first statement, by which time the transaction has marked the connection
+ * read-only and the replica pool can be chosen.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${app.datasource.replicas:}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replica-pool-size:20}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replica-health-timeout:PT1S}")
+    private Duration healthTimeout;
+
+    private ReplicaRoutingDataSource replicaDataSource;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource() {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+            ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(replicaUrls.get(i).trim())
+                .build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        replicaDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWrites);
+        return replicaDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica-health-interval:PT5S}")
+    public void checkReplicaHealth() {
+        if (replicaDataSource != null) {
+            replicaDataSource.checkHealth((int) Math.max(1, healthTimeout.toSeconds()));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.TaskManagerBackend.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NativeDetector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs how long after JVM start the application became ready and served its
+ * first request, labelled with the startup mode (JVM, AOT, CDS or native),
+ * so the modes can be compared. The first-request time is also published as
+ * {@code application.first-request.time} next to Boot's own
+ * {@code application.ready.time}.
+ */
+@Slf4j
+@Component
+public class StartupTimings {
+
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ready() {
+        log.info("Ready {} ms after JVM start in {} mode", uptimeMillis(), mode());
+    }
+
+    @EventListener
+    public void requestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestSeen.get() || !firstRequestSeen.compareAndSet(false, true)) {
+            return;
+        }
+        long uptime = uptimeMillis();
+        TimeGauge.builder("application.first-request.time", () -> uptime, TimeUnit.MILLISECONDS)
+            .description("Time from JVM start until the first request completed")
+            .register(meterRegistry);
+        log.info("First request ({} {}) completed {} ms after JVM start in {} mode, {} ms of it in the request",
+            event.getMethod(), event.getRequestUrl(), uptime, mode(), event.getProcessingTimeMillis());
+    }
+
+    private static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    private static String mode() {
+        if (NativeDetector.inNativeImage()) {
+            return "native";
+        }
+        String mode = AotDetector.useGeneratedArtifacts() ? "AOT" : "JVM";
+        boolean cds = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+            .anyMatch(argument -> argument.startsWith("-XX:SharedArchiveFile"));
+        return cds ? mode + "+CDS" : mode;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.TaskManagerBackend.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Times every transaction from begin to commit or rollback, tagged by the
+ * transactional method, and reports transactions that stay open longer than
+ * {@code tasks.transactions.long-threshold} together with the endpoint and
+ * thread that opened them, since each one is holding a pooled connection.
+ * Meters are registered once per tag set and looked up from a map afterwards.
+ */
+@Slf4j
+@Component
+public class TransactionMetrics implements TransactionExecutionListener {
+
+    private final Map<TransactionExecution, OpenTransaction> open = new ConcurrentHashMap<>();
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<CounterKey, Counter> longCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tasks.transactions.long-threshold:PT2S}")
+    private Duration longThreshold;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("service.transactions.active", open, Map::size)
+            .description("Transactions currently open")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && transaction.isNewTransaction()) {
+            open.put(transaction, new OpenTransaction(System.nanoTime(), currentEndpoint(), Thread.currentThread().getName()));
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        completed(transaction, commitFailure == null ? "commit" : "commit-failed");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        completed(transaction, "rollback");
+    }
+
+    private void completed(TransactionExecution transaction, String outcome) {
+        OpenTransaction started = open.remove(transaction);
+        if (started == null) {
+            return;
+        }
+        TimerKey key = new TimerKey(String.valueOf(transaction.getTransactionName()), transaction.isReadOnly(), outcome);
+        timers.computeIfAbsent(key, this::timer).record(System.nanoTime() - started.startedAt(), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(TimerKey key) {
+        return Timer.builder("service.transactions")
+            .description("Time from transaction begin to completion")
+            .tag("name", key.name())
+            .tag("read-only", Boolean.toString(key.readOnly()))
+            .tag("outcome", key.outcome())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private Counter longCounter(CounterKey key) {
+        return Counter.builder("service.transactions.long")
+            .description("Transactions that stayed open past the threshold")
+            .tag("name", key.name())
+            .tag("endpoint", key.endpoint())
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.transactions.check-interval:PT1S}")
+    public void reportLongTransactions() {
+        long now = System.nanoTime();
+        open.forEach((transaction, started) -> {
+            long millis = TimeUnit.NANOSECONDS.toMillis(now - started.startedAt());
+            if (!started.reported && millis >= longThreshold.toMillis()) {
+                started.reported = true;
+                log.warn("Transaction {} opened by {} on thread {} has been open for {} ms",
+                    transaction.getTransactionName(), started.endpoint(), started.thread(), millis);
+                longCounters.computeIfAbsent(new CounterKey(String.valueOf(transaction.getTransactionName()), started.endpoint()),
+                    this::longCounter).increment();
+            }
+        });
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) {
+            return "none";
+        }
+        HttpServletRequest request = servlet.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? "UNKNOWN" : pattern);
+    }
+
+    private record TimerKey(String name, boolean readOnly, String outcome) {
+    }
+
+    private record CounterKey(String name, String endpoint) {
+    }
+
+    private static final class OpenTransaction {
+        private final long startedAt;
+        private final String endpoint;
+        private final String thread;
+        private volatile boolean reported;
+
+        private OpenTransaction(long startedAt, String endpoint, String thread) {
+            this.startedAt = startedAt;
+            this.endpoint = endpoint;
+            this.thread = thread;
+        }
+
+        long startedAt() {
+            return startedAt;
+        }
+
+        String endpoint() {
+            return endpoint;
+        }
+
+        String thread() {
+            return thread;
+        }
+    }
+}
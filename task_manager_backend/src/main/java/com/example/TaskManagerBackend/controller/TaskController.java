@@ -1,42 +1,200 @@
 package com.example.TaskManagerBackend.controller;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.NoSuchElementException;
 import com.example.TaskManagerBackend.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
 import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.TaskChanges;
+import com.example.TaskManagerBackend.models.TaskCounts;
+import com.example.TaskManagerBackend.models.TaskPage;
+import com.example.TaskManagerBackend.models.TaskPatch;
+import com.example.TaskManagerBackend.models.TaskSearchResult;
+import com.example.TaskManagerBackend.models.TaskStamp;
+import com.example.TaskManagerBackend.models.WriteAck;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 
 @RestController
 public class TaskController {
 
+    private static final List<MediaType> REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+        MediaType.valueOf("application/x-jackson-smile"));
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private ContentNegotiationManager contentNegotiationManager;
+
     @GetMapping("tasks")
-    public List<Task> getTasks(){
+    public List<Task> getTasks(NativeWebRequest request){
+        if (notModified(taskService.getTasksStamp(), request)) {
+            return null;
+        }
         return taskService.getAllTasks();
     }
 
+    @GetMapping("tasks/counts")
+    public TaskCounts getTaskCounts() {
+        return taskService.getTaskCounts();
+    }
+
+    @GetMapping("tasks/changes")
+    public TaskChanges getTaskChanges(@RequestParam("since") Instant since,
+            @RequestParam(name = "afterId", defaultValue = "-1") long afterId,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        return taskService.getChangesSince(since, afterId, size);
+    }
+
+    @GetMapping("tasks/page")
+    public TaskPage getTaskPage(@RequestParam(name = "status", required = false) Status status,
+            @RequestParam(name = "priority", required = false) Priority priority,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        return taskService.getTaskPage(status, priority, cursor, size);
+    }
+
+    @GetMapping(path = "tasks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(name = "since", required = false) String since) {
+        return taskService.subscribeToEvents(lastEventId != null ? lastEventId : since);
+    }
+
+    @GetMapping("tasks/search")
+    public TaskSearchResult searchTasks(@RequestParam("q") String query,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        return taskService.searchTasks(query, page, size);
+    }
+
+    @GetMapping("tasks/export")
+    public void exportTasks(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        taskService.exportTasks(response.getOutputStream());
+    }
+
     @GetMapping("task/{id}")
-    public Task getTask(@PathVariable("id") int id) {
-        return taskService.getTask(id);
+    public Task getTask(@PathVariable("id") int id, NativeWebRequest request) {
+        // Compared after loading: a cached task costs no query, a separate stamp lookup would
+        Task task = taskService.getTask(id);
+        return notModified(TaskStamp.of(task), request) ? null : task;
+    }
+
+    /**
+     * The entity tag names the representation as well as the version, since
+     * JSON, CBOR and Smile bodies differ, and caches are told to key on
+     * Accept. JSON keeps the bare tag clients already hold.
+     */
+    private boolean notModified(TaskStamp stamp, NativeWebRequest request) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return stamp != null && request.checkNotModified(stamp.etag() + representationSuffix(request), stamp.lastModifiedMillis());
+    }
+
+    private String representationSuffix(NativeWebRequest request) {
+        List<MediaType> accepted;
+        try {
+            accepted = contentNegotiationManager.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return "";
+        }
+        for (MediaType type : accepted) {
+            for (MediaType representation : REPRESENTATIONS) {
+                if (type.isCompatibleWith(representation)) {
+                    return representation.equals(MediaType.APPLICATION_JSON) ? "" : "-" + representation.getSubtype();
+                }
+            }
+        }
+        return "";
     }
 
     @PostMapping("createtask")
     @ResponseStatus(org.springframework.http.HttpStatus.CREATED)
-    public Task postTask(@RequestBody Task task) {
-        return taskService.createTask(task);
+    public Task postTask(@RequestBody Task task, @RequestParam(name = "ack", required = false) WriteAck ack) {
+        return ack == null ? taskService.createTask(task) : taskService.createTask(task, ack);
     }
     @PutMapping("updatetask/{id}")
     public Task putTask(@PathVariable("id") int id, @RequestBody Task newTask) {
        return taskService.updateTask(id, newTask);
     }
+
+    @PatchMapping("task/{id}")
+    public ResponseEntity<Void> patchTask(@PathVariable("id") long id, @RequestBody TaskPatch patch,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch) {
+        if (patch.version() == null && ifMatch != null) {
+            patch = patch.withVersion(parseVersion(ifMatch));
+        }
+        long version = taskService.patchTask(id, patch);
+        return ResponseEntity.noContent().eTag(Long.toString(version)).build();
+    }
+
+    private static long parseVersion(String etag) {
+        String value = (etag.startsWith("W/") ? etag.substring(2) : etag).replace("\"", "");
+        int representation = value.indexOf('-');
+        try {
+            return Long.parseLong(representation < 0 ? value : value.substring(0, representation));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match: " + etag);
+        }
+    }
+
+    @PostMapping("createtasks")
+    @ResponseStatus(org.springframework.http.HttpStatus.CREATED)
+    public List<Task> postTasks(@RequestBody List<Task> tasks) {
+        return taskService.createTasks(tasks);
+    }
+
+    @PutMapping("updatetasks")
+    public List<Task> putTasks(@RequestBody List<Task> newTasks) {
+        return taskService.updateTasks(newTasks);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String handleConflict(OptimisticLockingFailureException e) {
+        return e.getMessage();
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public String handleNotFound(NoSuchElementException e) {
+        return e.getMessage();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleBadRequest(IllegalArgumentException e) {
+        return e.getMessage();
+    }
 }
@@ -2,15 +2,24 @@ package com.example.TaskManagerBackend.controller;
 
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.TaskManagerBackend.models.TokenPair;
 import com.example.TaskManagerBackend.models.User;
 import com.example.TaskManagerBackend.service.UserService;
 
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.time.Duration;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,9 +29,17 @@ import org.springframework.web.bind.annotation.GetMapping;
 @RestController
 public class UserController {
 
+    static final String REFRESH_COOKIE = "refresh_token";
+
     @Autowired
     private UserService userService;
 
+    @Value("${jwt.refresh-token.ttl:P14D}")
+    private Duration refreshTokenTtl;
+
+    @Value("${jwt.refresh-token.cookie-secure:true}")
+    private boolean secureCookie;
+
     @GetMapping("users")
     public List<User> getUsers() {
         return userService.getAllUsers();
@@ -41,8 +58,41 @@ public class UserController {
     }
 
     @PostMapping("login")
-    public String login(@RequestBody User user){
-        return userService.verify(user);
+    public String login(@RequestBody User user, HttpServletResponse response){
+        String token = userService.verify(user);
+        String refreshToken = userService.startSession(token);
+        if (refreshToken != null) {
+            response.addHeader(HttpHeaders.SET_COOKIE, refreshCookie(refreshToken, refreshTokenTtl).toString());
+        }
+        return token;
+    }
+
+    @PostMapping("refresh")
+    public String refresh(@CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken,
+            HttpServletResponse response) {
+        TokenPair tokens = userService.refresh(refreshToken);
+        response.addHeader(HttpHeaders.SET_COOKIE, refreshCookie(tokens.refreshToken(), refreshTokenTtl).toString());
+        return tokens.accessToken();
+    }
+
+    @PostMapping("logout")
+    @ResponseStatus(org.springframework.http.HttpStatus.NO_CONTENT)
+    public void logout(@CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken,
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            HttpServletResponse response) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        userService.logout(refreshToken, accessToken);
+        response.addHeader(HttpHeaders.SET_COOKIE, refreshCookie("", Duration.ZERO).toString());
+    }
+
+    private ResponseCookie refreshCookie(String value, Duration maxAge) {
+        return ResponseCookie.from(REFRESH_COOKIE, value)
+            .httpOnly(true)
+            .secure(secureCookie)
+            .sameSite("Strict")
+            .path("/")
+            .maxAge(maxAge)
+            .build();
     }
 
     
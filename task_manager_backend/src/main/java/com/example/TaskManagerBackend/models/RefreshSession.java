@@ -0,0 +1,41 @@
+package com.example.TaskManagerBackend.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A refresh-token session shared by every instance. Only a SHA-256 of the
+ * current secret is stored; expiry times are epoch milliseconds.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class RefreshSession {
+    @Id
+    private String id;
+    private String username;
+    private Long userId;
+    private String role;
+    @ToString.Exclude
+    private byte[] secretDigest;
+    private long idleExpiresAt;
+    private long absoluteExpiresAt;
+    private String accessTokenId;
+    private long accessTokenExpiresAt;
+
+    public long expiresAt() {
+        return Math.min(idleExpiresAt, absoluteExpiresAt);
+    }
+
+    public boolean isExpired(long now) {
+        return expiresAt() <= now;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.TaskManagerBackend.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/** An access token revoked before it expires, by {@code jti}. */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class RevokedToken {
+    @Id
+    private String tokenId;
+    private long expiresAt;
+}
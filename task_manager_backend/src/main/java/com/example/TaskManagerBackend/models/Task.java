@@ -6,14 +6,41 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.AllArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = {
+    @Index(name = "idx_task_owner_created", columnList = "owner_id, creationDateTime, id"),
+    @Index(name = "idx_task_owner_status_created", columnList = "owner_id, status, creationDateTime, id"),
+    @Index(name = "idx_task_owner_priority_created", columnList = "owner_id, priority, creationDateTime, id"),
+    @Index(name = "idx_task_owner_updated", columnList = "owner_id, updatedAt, id")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -22,13 +49,38 @@ import jakarta.persistence.Id;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private long id;
     private String title;
     private String description;
     private Status status;
     private LocalDateTime creationDateTime;
     private Priority priority;
+    @Version
+    private long version;
+    private Instant updatedAt;
+    @Column(name = "owner_id")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long ownerId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", insertable = false, updatable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    private User owner;
+
+    public Task(long id, String title, String description, Status status, LocalDateTime creationDateTime, Priority priority) {
+        this(id, title, description, status, creationDateTime, priority, 0, null, null, null);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = now();
+    }
 
+    public static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
 
 }
@@ -0,0 +1,11 @@
+package com.example.TaskManagerBackend.models;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Tasks changed at or after a point in time, in (updatedAt, id) order. The
+ * {@code since}/{@code afterId} pair is the position to resume from.
+ */
+public record TaskChanges(List<Task> tasks, Instant since, long afterId, boolean more) {
+}
@@ -0,0 +1,7 @@
+package com.example.TaskManagerBackend.models;
+
+/**
+ * One group of a count over tasks by owner, status and priority.
+ */
+public record TaskCountRow(Long ownerId, Status status, Priority priority, long count) {
+}
@@ -0,0 +1,6 @@
+package com.example.TaskManagerBackend.models;
+
+import java.util.Map;
+
+public record TaskCounts(long total, Map<Status, Long> byStatus, Map<Priority, Long> byPriority) {
+}
@@ -0,0 +1,30 @@
+package com.example.TaskManagerBackend.models;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the (creationDateTime, id) ordering of tasks.
+ */
+public record TaskCursor(LocalDateTime creationDateTime, long id) {
+
+    public static TaskCursor of(Task task) {
+        return new TaskCursor(task.getCreationDateTime(), task.getId());
+    }
+
+    public String encode() {
+        String raw = creationDateTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new TaskCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.TaskManagerBackend.models;
+
+/**
+ * A change to a task as pushed to event-stream subscribers. For patches the
+ * task only carries the fields that changed.
+ */
+public record TaskEvent(long sequence, String type, Task task) {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String PATCHED = "patched";
+}
@@ -0,0 +1,6 @@
+package com.example.TaskManagerBackend.models;
+
+import java.util.List;
+
+public record TaskPage(List<Task> tasks, String nextCursor) {
+}
@@ -0,0 +1,12 @@
+package com.example.TaskManagerBackend.models;
+
+/**
+ * Fields of a partial task update; null fields are left unchanged. When
+ * {@code version} is set the update only applies to that version of the task.
+ */
+public record TaskPatch(String title, String description, Status status, Priority priority, Long version) {
+
+    public TaskPatch withVersion(Long version) {
+        return new TaskPatch(title, description, status, priority, version);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.TaskManagerBackend.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A per-owner counter bumped in the same transaction as every write to the
+ * owner's tasks, so it only moves when that write commits.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class TaskRevision {
+    @Id
+    private Long ownerId;
+    private long revision;
+}
@@ -0,0 +1,18 @@
+package com.example.TaskManagerBackend.models;
+
+import java.time.Instant;
+
+/**
+ * Validators for conditional GETs: an entity tag and the last modification
+ * time, either of a single task or of the task table as a whole.
+ */
+public record TaskStamp(String etag, Instant lastModified) {
+
+    public static TaskStamp of(Task task) {
+        return new TaskStamp(Long.toString(task.getVersion()), task.getUpdatedAt());
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.TaskManagerBackend.models;
+
+public record TokenPair(String accessToken, String refreshToken) {
+}
@@ -0,0 +1,13 @@
+package com.example.TaskManagerBackend.models;
+
+/**
+ * When a write-behind task creation is acknowledged to the client.
+ */
+public enum WriteAck {
+    /** Appended to the journal; survives a process crash but not a power loss. */
+    QUEUED,
+    /** Appended and forced to disk. */
+    JOURNALED,
+    /** Inserted into the database. */
+    COMMITTED
+}
@@ -0,0 +1,54 @@
+package com.example.TaskManagerBackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.TaskManagerBackend.models.RefreshSession;
+
+@Repository
+public interface RefreshSessionRepository extends JpaRepository<RefreshSession, String> {
+
+    List<RefreshSession> findByUsername(String username);
+
+    long countByUsername(String username);
+
+    /** Swaps the secret only if it is still the one the caller verified, so concurrent rotations cannot both win. */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        update RefreshSession s
+        set s.secretDigest = :next, s.idleExpiresAt = :idleExpiresAt
+        where s.id = :id and s.secretDigest = :current
+        """)
+    int rotate(@Param("id") String id, @Param("current") byte[] current, @Param("next") byte[] next,
+            @Param("idleExpiresAt") long idleExpiresAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update RefreshSession s set s.accessTokenId = :tokenId, s.accessTokenExpiresAt = :expiresAt where s.id = :id")
+    int accessTokenIssued(@Param("id") String id, @Param("tokenId") String tokenId, @Param("expiresAt") long expiresAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from RefreshSession s where s.id = :id")
+    int deleteSession(@Param("id") String id);
+
+    /** Deletes the session only while the given secret is current. */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from RefreshSession s where s.id = :id and s.secretDigest = :current")
+    int deleteSession(@Param("id") String id, @Param("current") byte[] current);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from RefreshSession s where s.idleExpiresAt <= :now or s.absoluteExpiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+
+    @Query("""
+        select s.id from RefreshSession s
+        where s.username = :username
+        order by least(s.idleExpiresAt, s.absoluteExpiresAt)
+        """)
+    List<String> findIdsByUsernameOrderByExpiry(@Param("username") String username, Pageable pageable);
+}
@@ -1,10 +1,92 @@
 package com.example.TaskManagerBackend.repository;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
 import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.TaskCountRow;
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Integer> {
-    
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Task> findAllByOwnerIdOrderByCreationDateTimeAscIdAsc(Long ownerId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+        select t from Task t
+        where t.ownerId = :ownerId
+          and (:status is null or t.status = :status)
+          and (:priority is null or t.priority = :priority)
+        order by t.creationDateTime, t.id
+        """)
+    List<Task> findFirstPage(@Param("ownerId") Long ownerId, @Param("status") Status status, @Param("priority") Priority priority, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+        select t from Task t
+        where t.ownerId = :ownerId
+          and (:status is null or t.status = :status)
+          and (:priority is null or t.priority = :priority)
+          and (t.creationDateTime > :createdAfter
+               or (t.creationDateTime = :createdAfter and t.id > :idAfter))
+        order by t.creationDateTime, t.id
+        """)
+    List<Task> findPageAfter(@Param("ownerId") Long ownerId, @Param("status") Status status, @Param("priority") Priority priority,
+            @Param("createdAfter") LocalDateTime createdAfter, @Param("idAfter") long idAfter, Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAll();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select t from Task t where t.ownerId = :ownerId order by t.creationDateTime, t.id")
+    Stream<Task> streamByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("""
+        select t from Task t
+        where t.ownerId = :ownerId
+          and (t.updatedAt > :since
+               or (t.updatedAt = :since and t.id > :afterId))
+          and t.updatedAt <= :until
+        order by t.updatedAt, t.id
+        """)
+    List<Task> findChangedSince(@Param("ownerId") Long ownerId, @Param("since") Instant since, @Param("afterId") long afterId,
+            @Param("until") Instant until, Pageable pageable);
+
+    @Query("""
+        select new com.example.TaskManagerBackend.models.TaskCountRow(t.ownerId, t.status, t.priority, count(t))
+        from Task t
+        where t.ownerId in :ownerIds
+        group by t.ownerId, t.status, t.priority
+        """)
+    List<TaskCountRow> countByOwnerIds(@Param("ownerIds") Collection<Long> ownerIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.ownerId = :ownerId")
+    int deleteByOwnerId(@Param("ownerId") Long ownerId);
 }
@@ -0,0 +1,30 @@
+package com.example.TaskManagerBackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.TaskManagerBackend.models.TaskRevision;
+
+@Repository
+public interface TaskRevisionRepository extends JpaRepository<TaskRevision, Long> {
+
+    /**
+     * Increments the owner's revision, creating it on the first write. The
+     * row stays locked until the calling transaction ends, so revisions are
+     * handed out in commit order.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        insert into task_revision (owner_id, revision) values (:ownerId, 1)
+        on duplicate key update revision = revision + 1
+        """, nativeQuery = true)
+    int bump(@Param("ownerId") Long ownerId);
+
+    @Query("select r.revision from TaskRevision r where r.ownerId = :ownerId")
+    Long findRevision(@Param("ownerId") Long ownerId);
+}
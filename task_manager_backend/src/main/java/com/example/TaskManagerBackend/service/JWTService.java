@@ -1,53 +1,126 @@
 package com.example.TaskManagerBackend.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
-import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class JWTService {
-    private String secretKey = "";
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
+
+    private final JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int maxCachedTokens;
+
+    @Value("${jwt.access-token.ttl:PT15M}")
+    private Duration accessTokenTtl;
+
+    @Autowired
+    private TokenDenylist denylist;
+
+    @Autowired
+    private SigningKeyRing keyRing;
+
     public JWTService(){
-        try {
-            KeyGenerator keyGen = KeyGenerator.getInstance("HmacSHA256");
-            secretKey = Base64.getEncoder().encodeToString(keyGen.generateKey().getEncoded());
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
-       
+        parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                SecretKey key = keyRing.verificationKey(header.getKeyId());
+                if (key == null) {
+                    throw new UnsupportedJwtException("Unknown signing key: " + header.getKeyId());
+                }
+                return key;
+            }
+        }).build();
+    }
+
+    /** Entries expire with their token and are evicted past {@code jwt.cache.max-size}. */
+    @PostConstruct
+    void buildCache() {
+        verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(maxCachedTokens)
+            .expireAfter(Expiry.creating((String digest, Claims claims) ->
+                Duration.ofMillis(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()))))
+            .build();
     }
 
     public String generateToken(String username) {
+        return generateToken(username, null);
+    }
+
+    public String generateToken(String username, String role) {
+        return generateToken(username, role, null);
+    }
+
+    public String generateToken(String username, String role, Long userId) {
+        return issueAccessToken(username, role, userId).value();
+    }
+
+    /** Signs a new access token that expires after {@code jwt.access-token.ttl}. */
+    public AccessToken issueAccessToken(String username, String role, Long userId) {
         Map<String,Object> claims = new HashMap<>();
+        if (role != null) {
+            claims.put(ROLE_CLAIM, role);
+        }
+        if (userId != null) {
+            claims.put(USER_ID_CLAIM, userId);
+        }
 
-        return Jwts.builder()
+        String id = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        long expiresAt = now + accessTokenTtl.toMillis();
+        SigningKeyRing.SigningKey signingKey = keyRing.signingKey();
+        String token = Jwts.builder()
+            .header()
+            .keyId(signingKey.kid())
+            .and()
             .claims()
             .add(claims)
+            .id(id)
             .subject(username)
-            .issuedAt(new Date(System.currentTimeMillis()))
-            .expiration(new Date(System.currentTimeMillis()+(3600*30)))
+            .issuedAt(new Date(now))
+            .expiration(new Date(expiresAt))
             .and()
-            .signWith(getKey())
+            .signWith(signingKey.secretKey())
             .compact();
+        return new AccessToken(token, id, expiresAt);
     }
 
-    private SecretKey getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-       return Keys.hmacShaKeyFor(keyBytes);
+    /** Blocks an access token for the rest of its lifetime. */
+    public void revoke(Claims claims) {
+        if (claims.getExpiration() != null) {
+            denylist.deny(claims.getId(), claims.getExpiration().getTime());
+        }
     }
 
     public String extractUserName(String token) {
@@ -55,29 +128,51 @@ public class JWTService {
     }
 
     private <T> T extractClaim(String token, Function<Claims,T> claimResolver){
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = extractClaims(token);
         return claimResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token){
-        return Jwts.parser()
-        .verifyWith(getKey())
-        .build()
-        .parseSignedClaims(token)
-        .getPayload();
+    /**
+     * Returns the verified claims of a token, checking the signature only the
+     * first time a token is seen and serving repeats from a cache until the
+     * token expires.
+     */
+    public Claims extractClaims(String token){
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername())&&!isTokenExpired(token));
+        return validateToken(extractClaims(token), userDetails);
+    }
+
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        return (claims.getSubject().equals(userDetails.getUsername())&&!isTokenExpired(claims)
+            &&!denylist.isDenied(claims.getId()));
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public record AccessToken(String value, String id, long expiresAtMillis) {
     }
 
 }
@@ -1,30 +1,83 @@
 package com.example.TaskManagerBackend.service;
 
+import java.time.Duration;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.TaskManagerBackend.config.ReadYourWritesTracker;
 import com.example.TaskManagerBackend.models.User;
 import com.example.TaskManagerBackend.models.UserPrincipal;
 import com.example.TaskManagerBackend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
 
 @Service
-public class MyUserDetailsService implements UserDetailsService{
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService{
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Value("${users.cache.max-size:10000}")
+    private int maxCachedUsers;
+
+    @Value("${users.cache.ttl:PT5M}")
+    private Duration cacheTtl;
+
+    private Cache<String, UserDetails> cache;
+
+    @PostConstruct
+    void buildCache() {
+        cache = Caffeine.newBuilder()
+            .expireAfterWrite(cacheTtl)
+            .maximumSize(maxCachedUsers)
+            .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
-       User user = userRepository.findByUsername(username);
+       UserDetails cached = cache.getIfPresent(username);
+       if(cached != null){
+        return cached;
+       }
+
+       User user = readYourWrites.readFor(username, () -> userRepository.findByUsername(username));
        if(user == null){
         throw new UsernameNotFoundException("User not found");
        }
 
+       UserDetails userDetails = new UserPrincipal(user);
+       cache.put(username, userDetails);
+       return userDetails;
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+       User user = userRepository.findByUsername(userDetails.getUsername());
+       if(user == null){
+        throw new UsernameNotFoundException("User not found");
+       }
+       user.setPassword(newPassword);
+       userRepository.save(user);
+       evict(user.getUsername());
        return new UserPrincipal(user);
     }
 
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
 }
@@ -0,0 +1,212 @@
+package com.example.TaskManagerBackend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.TaskManagerBackend.models.RefreshSession;
+import com.example.TaskManagerBackend.repository.RefreshSessionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opaque refresh tokens grouped into sessions. A token is
+ * {@code <session id>.<secret>}; the session id finds the session by primary
+ * key and only a SHA-256 of the current secret is kept, compared in constant
+ * time. Every refresh rotates the secret, so presenting an older one means
+ * the token was copied: the whole session is revoked along with the access
+ * token it last issued.
+ *
+ * <p>Sessions live in the {@code refresh_session} table, so any instance can
+ * refresh or revoke a session opened on another and sessions survive
+ * restarts. A rotation only succeeds if the stored secret is still the one
+ * it verified, so two instances racing on the same token cannot both win.
+ *
+ * <p>Sessions expire after {@code jwt.refresh-token.ttl} without a refresh
+ * and after {@code jwt.refresh-token.max-lifetime} regardless. A user holds
+ * at most {@code jwt.refresh-token.max-sessions-per-user}; past that their
+ * session closest to expiry is dropped. Expired sessions of all users are
+ * purged on a schedule.
+ */
+@Slf4j
+@Component
+public class RefreshTokenStore {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final List<String> OUTCOMES = List.of("issued", "rotated", "invalid", "expired", "reused", "revoked", "evicted");
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Counter> counters = new HashMap<>();
+
+    @Autowired
+    private RefreshSessionRepository sessions;
+
+    @Autowired
+    private TokenDenylist denylist;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.refresh-token.ttl:P14D}")
+    private Duration ttl;
+
+    @Value("${jwt.refresh-token.max-lifetime:P30D}")
+    private Duration maxLifetime;
+
+    @Value("${jwt.refresh-token.max-sessions-per-user:20}")
+    private int maxSessionsPerUser;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("security.refresh.sessions", sessions, RefreshSessionRepository::count)
+            .description("Open refresh-token sessions")
+            .register(meterRegistry);
+        for (String outcome : OUTCOMES) {
+            counters.put(outcome, Counter.builder("security.refresh.tokens")
+                .description("Refresh token operations by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+
+    /** Opens a session for a user who has just logged in and returns its first token. */
+    @Transactional
+    public String issue(String username, Long userId, String role, String accessTokenId, long accessTokenExpiresAt) {
+        long now = System.currentTimeMillis();
+        makeRoom(username);
+        String sessionId = randomString(16);
+        String secret = randomString(32);
+        sessions.save(new RefreshSession(sessionId, username, userId, role, digest(secret), now + ttl.toMillis(),
+            now + maxLifetime.toMillis(), accessTokenId, accessTokenExpiresAt));
+        count("issued");
+        return sessionId + "." + secret;
+    }
+
+    /**
+     * Swaps a valid refresh token for a new one in the same session. Throws
+     * when the token is unknown, expired or has already been used.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String token) {
+        long now = System.currentTimeMillis();
+        String[] parts = split(token);
+        RefreshSession session = sessions.findById(parts[0]).orElse(null);
+        if (session == null) {
+            count("invalid");
+            throw new InvalidRefreshTokenException("Unknown refresh token");
+        }
+        if (session.isExpired(now)) {
+            sessions.deleteSession(parts[0]);
+            count("expired");
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        String secret = randomString(32);
+        if (!MessageDigest.isEqual(session.getSecretDigest(), digest(parts[1]))
+                || sessions.rotate(parts[0], session.getSecretDigest(), digest(secret), now + ttl.toMillis()) == 0) {
+            sessions.deleteSession(parts[0]);
+            denylist.deny(session.getAccessTokenId(), session.getAccessTokenExpiresAt());
+            count("reused");
+            log.warn("Refresh token reuse detected for user {}; session revoked", session.getUsername());
+            throw new InvalidRefreshTokenException("Refresh token already used");
+        }
+        count("rotated");
+        return new Rotation(parts[0], session.getUsername(), session.getUserId(), session.getRole(), parts[0] + "." + secret);
+    }
+
+    /** Records the access token issued alongside a rotation so it can be revoked with the session. */
+    @Transactional
+    public void accessTokenIssued(String sessionId, String accessTokenId, long accessTokenExpiresAt) {
+        sessions.accessTokenIssued(sessionId, accessTokenId, accessTokenExpiresAt);
+    }
+
+    /** Ends the session a token belongs to, if the token is still current. */
+    @Transactional
+    public void revoke(String token) {
+        String[] parts;
+        try {
+            parts = split(token);
+        } catch (InvalidRefreshTokenException e) {
+            return;
+        }
+        sessions.findById(parts[0])
+            .filter(session -> MessageDigest.isEqual(session.getSecretDigest(), digest(parts[1])))
+            .filter(session -> sessions.deleteSession(parts[0], session.getSecretDigest()) == 1)
+            .ifPresent(session -> {
+                denylist.deny(session.getAccessTokenId(), session.getAccessTokenExpiresAt());
+                count("revoked");
+            });
+    }
+
+    /** Ends every session of a user, e.g. when the account is deleted. */
+    @Transactional
+    public void revokeUser(String username) {
+        for (RefreshSession session : sessions.findByUsername(username)) {
+            sessions.deleteSession(session.getId());
+            denylist.deny(session.getAccessTokenId(), session.getAccessTokenExpiresAt());
+        }
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval:PT5M}")
+    public void purgeExpired() {
+        sessions.deleteExpired(System.currentTimeMillis());
+    }
+
+    /** Drops the user's sessions closest to expiry, expired ones first, to fit one more. */
+    private void makeRoom(String username) {
+        long excess = sessions.countByUsername(username) - maxSessionsPerUser + 1;
+        if (excess <= 0) {
+            return;
+        }
+        List<String> oldest = sessions.findIdsByUsernameOrderByExpiry(username,
+            PageRequest.ofSize((int) Math.min(excess, Integer.MAX_VALUE)));
+        sessions.deleteAllByIdInBatch(oldest);
+        oldest.forEach(id -> count("evicted"));
+    }
+
+    private static String[] split(String token) {
+        int dot = token == null ? -1 : token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            throw new InvalidRefreshTokenException("Malformed refresh token");
+        }
+        return new String[] { token.substring(0, dot), token.substring(dot + 1) };
+    }
+
+    private String randomString(int bytes) {
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return ENCODER.encodeToString(value);
+    }
+
+    private static byte[] digest(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void count(String outcome) {
+        counters.get(outcome).increment();
+    }
+
+    public record Rotation(String sessionId, String username, Long userId, String role, String refreshToken) {
+    }
+}
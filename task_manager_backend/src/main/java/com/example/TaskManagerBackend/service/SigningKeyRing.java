@@ -0,0 +1,247 @@
+package com.example.TaskManagerBackend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HMAC signing keys shared by every instance through {@code jwt.keys.file},
+ * a properties file of {@code <kid>.key} (base64) and
+ * {@code <kid>.activates-at} (ISO-8601 instant) entries. Tokens are signed
+ * with the newest key whose activation time has passed and verified with
+ * whichever key their {@code kid} header names.
+ *
+ * <p>Rotation adds a key that activates {@code jwt.keys.propagation-delay}
+ * later, so every instance has reloaded it before anyone signs with it, and
+ * drops a key {@code jwt.keys.overlap} after its successor took over, by
+ * which time the tokens it signed have expired. Changes to the file are made
+ * under a file lock and written atomically, so instances sharing it never
+ * rotate twice or read a half-written ring.
+ */
+@Slf4j
+@Component
+public class SigningKeyRing {
+
+    private static final String KEY_SUFFIX = ".key";
+    private static final String ACTIVATES_SUFFIX = ".activates-at";
+    private static final int KEY_BYTES = 32;
+
+    /** FileLock is held per JVM, so instances sharing a JVM also need a monitor. */
+    private static final Object JVM_LOCK = new Object();
+
+    private final SecureRandom random = new SecureRandom();
+    private volatile Ring ring = new Ring(Map.of(), List.of());
+
+    @Value("${jwt.keys.file:./data/jwt-keys.properties}")
+    private Path file;
+
+    @Value("${jwt.keys.rotation.enabled:true}")
+    private boolean rotationEnabled;
+
+    @Value("${jwt.keys.rotation-interval:P1D}")
+    private Duration rotationInterval;
+
+    @Value("${jwt.keys.propagation-delay:PT2M}")
+    private Duration propagationDelay;
+
+    @Value("${jwt.keys.overlap:PT1H}")
+    private Duration overlap;
+
+    /** Loads the ring, creating it with one active key if the file is missing or empty. */
+    @PostConstruct
+    public void load() throws IOException {
+        underLock(() -> {
+            if (read().isEmpty()) {
+                write(List.of(newKey(Instant.now())));
+                log.info("Created JWT signing key ring at {}", file.toAbsolutePath());
+            }
+        });
+        reload();
+    }
+
+    public SigningKey signingKey() {
+        Instant now = Instant.now();
+        List<SigningKey> keys = ring.byActivation();
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            if (!keys.get(i).activatesAt().isAfter(now)) {
+                return keys.get(i);
+            }
+        }
+        throw new IllegalStateException("No active JWT signing key in " + file.toAbsolutePath());
+    }
+
+    /** Returns the key for a {@code kid}, or null if it is not in the ring. */
+    public SecretKey verificationKey(String kid) {
+        SigningKey key = kid == null ? null : ring.byKid().get(kid);
+        return key == null ? null : key.secretKey();
+    }
+
+    /** Picks up keys added or removed by other instances and rotates when due. */
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval:PT30S}")
+    public void refresh() {
+        try {
+            reload();
+            if (rotationEnabled && rotationDue(ring.byActivation(), Instant.now())) {
+                rotate(false);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to refresh JWT signing keys from {}", file.toAbsolutePath(), e);
+        }
+    }
+
+    /** Adds a new key now, whatever the schedule, and prunes expired ones. */
+    public void rotate() throws IOException {
+        rotate(true);
+    }
+
+    private void rotate(boolean force) throws IOException {
+        underLock(() -> {
+            Instant now = Instant.now();
+            List<SigningKey> keys = read();
+            if (!force && !rotationDue(keys, now)) {
+                return;
+            }
+            keys.add(newKey(now.plus(propagationDelay)));
+            write(prune(keys, now));
+            log.info("Rotated JWT signing keys; new key activates in {}", propagationDelay);
+        });
+        reload();
+    }
+
+    /** Due when the newest key, pending or not, is older than the rotation interval. */
+    private boolean rotationDue(List<SigningKey> keys, Instant now) {
+        return keys.isEmpty() || !keys.get(keys.size() - 1).activatesAt().plus(rotationInterval).isAfter(now);
+    }
+
+    private List<SigningKey> prune(List<SigningKey> keys, Instant now) {
+        List<SigningKey> kept = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            boolean superseded = i + 1 < keys.size()
+                && !keys.get(i + 1).activatesAt().plus(overlap).isAfter(now);
+            if (!superseded) {
+                kept.add(keys.get(i));
+            }
+        }
+        return kept;
+    }
+
+    private void reload() throws IOException {
+        List<SigningKey> byActivation = read();
+        Map<String, SigningKey> byKid = new HashMap<>();
+        for (SigningKey key : byActivation) {
+            byKid.put(key.kid(), key);
+        }
+        ring = new Ring(Map.copyOf(byKid), List.copyOf(byActivation));
+    }
+
+    /** Reads the file into keys ordered by activation time. */
+    private List<SigningKey> read() throws IOException {
+        List<SigningKey> keys = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return keys;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        for (String name : properties.stringPropertyNames()) {
+            if (name.endsWith(KEY_SUFFIX)) {
+                String kid = name.substring(0, name.length() - KEY_SUFFIX.length());
+                String activatesAt = properties.getProperty(kid + ACTIVATES_SUFFIX);
+                keys.add(new SigningKey(kid,
+                    Keys.hmacShaKeyFor(Base64.getDecoder().decode(properties.getProperty(name).trim())),
+                    activatesAt == null ? Instant.EPOCH : Instant.parse(activatesAt.trim())));
+            }
+        }
+        keys.sort(Comparator.comparing(SigningKey::activatesAt));
+        return keys;
+    }
+
+    private void write(List<SigningKey> keys) throws IOException {
+        Path temp = Files.createTempFile(directory(), file.getFileName().toString(), ".tmp");
+        try {
+            restrictPermissions(temp);
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (SigningKey key : keys) {
+                    writer.write(key.kid() + KEY_SUFFIX + "=" + Base64.getEncoder().encodeToString(key.secretKey().getEncoded()) + "\n");
+                    writer.write(key.kid() + ACTIVATES_SUFFIX + "=" + key.activatesAt() + "\n");
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void underLock(KeyFileAction action) throws IOException {
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        Files.createDirectories(directory());
+        synchronized (JVM_LOCK) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                    FileLock lock = channel.lock()) {
+                action.run();
+            }
+        }
+    }
+
+    private Path directory() {
+        Path parent = file.toAbsolutePath().getParent();
+        return parent != null ? parent : Path.of(".");
+    }
+
+    private static void restrictPermissions(Path path) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system; rely on the directory's permissions.
+        }
+    }
+
+    private SigningKey newKey(Instant activatesAt) {
+        byte[] secret = new byte[KEY_BYTES];
+        random.nextBytes(secret);
+        byte[] kid = new byte[9];
+        random.nextBytes(kid);
+        return new SigningKey(Base64.getUrlEncoder().withoutPadding().encodeToString(kid),
+            Keys.hmacShaKeyFor(secret), activatesAt);
+    }
+
+    public record SigningKey(String kid, SecretKey secretKey, Instant activatesAt) {
+    }
+
+    private record Ring(Map<String, SigningKey> byKid, List<SigningKey> byActivation) {
+    }
+
+    @FunctionalInterface
+    private interface KeyFileAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.TaskManagerBackend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.example.TaskManagerBackend.models.TaskCountRow;
+import com.example.TaskManagerBackend.models.TaskCounts;
+import com.example.TaskManagerBackend.repository.TaskRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-owner task counts by status and priority, kept in striped
+ * {@link LongAdder}s that writers bump without locking. An owner's counts are
+ * loaded with a GROUP BY the first time they are read, reloaded when marked
+ * stale, and periodically reconciled against the database to correct drift.
+ *
+ * <p>Reads return an immutable {@link TaskCounts} built once per change: a
+ * repeated read with no write in between hands back the same instance instead
+ * of summing the adders and boxing the counts again.
+ */
+@Slf4j
+@Component
+public class TaskCounter {
+
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final Map<Long, OwnerCounts> owners = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Value("${tasks.counts.idle-timeout:PT30M}")
+    private Duration idleTimeout;
+
+    @Value("${tasks.counts.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    public TaskCounts counts(long ownerId) {
+        OwnerCounts counts = owners.get(ownerId);
+        if (counts == null || counts.stale) {
+            counts = load(List.of(ownerId)).get(ownerId);
+        }
+        counts.lastRead = System.nanoTime();
+        return counts.snapshot();
+    }
+
+    public void created(Long ownerId, Status status, Priority priority) {
+        OwnerCounts counts = ownerId == null ? null : owners.get(ownerId);
+        if (counts != null) {
+            counts.add(status, priority, 1);
+        }
+    }
+
+    public void updated(Long ownerId, Status oldStatus, Priority oldPriority, Status status, Priority priority) {
+        OwnerCounts counts = ownerId == null ? null : owners.get(ownerId);
+        if (counts != null && (oldStatus != status || oldPriority != priority)) {
+            counts.add(oldStatus, oldPriority, -1);
+            counts.add(status, priority, 1);
+        }
+    }
+
+    /**
+     * Marks an owner's counts for reload on the next read, for writes whose
+     * previous values are not known.
+     */
+    public void invalidate(Long ownerId) {
+        OwnerCounts counts = ownerId == null ? null : owners.get(ownerId);
+        if (counts != null) {
+            counts.stale = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.counts.reconcile-interval:PT5M}")
+    public void reconcile() {
+        long idleBefore = System.nanoTime() - idleTimeout.toNanos();
+        owners.values().removeIf(counts -> counts.lastRead - idleBefore < 0);
+        List<Long> ownerIds = new ArrayList<>(owners.keySet());
+        for (int from = 0; from < ownerIds.size(); from += reconcileBatchSize) {
+            load(ownerIds.subList(from, Math.min(from + reconcileBatchSize, ownerIds.size())));
+        }
+        log.debug("Reconciled task counts for {} owners", ownerIds.size());
+    }
+
+    private Map<Long, OwnerCounts> load(Collection<Long> ownerIds) {
+        Map<Long, OwnerCounts> loaded = new HashMap<>();
+        for (Long ownerId : ownerIds) {
+            OwnerCounts counts = new OwnerCounts();
+            OwnerCounts previous = owners.get(ownerId);
+            counts.lastRead = previous != null ? previous.lastRead : System.nanoTime();
+            loaded.put(ownerId, counts);
+        }
+        for (TaskCountRow row : taskRepository.countByOwnerIds(ownerIds)) {
+            loaded.get(row.ownerId()).add(row.status(), row.priority(), row.count());
+        }
+        owners.putAll(loaded);
+        return loaded;
+    }
+
+    private static final class OwnerCounts {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder[] byStatus = adders(STATUSES.length);
+        private final LongAdder[] byPriority = adders(PRIORITIES.length);
+        private final AtomicLong version = new AtomicLong();
+        private volatile Snapshot snapshot;
+        private volatile boolean stale;
+        private volatile long lastRead;
+
+        void add(Status status, Priority priority, long delta) {
+            total.add(delta);
+            if (status != null) {
+                byStatus[status.ordinal()].add(delta);
+            }
+            if (priority != null) {
+                byPriority[priority.ordinal()].add(delta);
+            }
+            version.incrementAndGet();
+        }
+
+        /**
+         * Writers bump the version after their adds, so a snapshot summed while
+         * a write was in flight carries the version from before it and is
+         * rebuilt on the next read.
+         */
+        TaskCounts snapshot() {
+            long current = version.get();
+            Snapshot cached = snapshot;
+            if (cached != null && cached.version == current) {
+                return cached.counts;
+            }
+            Map<Status, Long> statuses = new EnumMap<>(Status.class);
+            for (Status status : STATUSES) {
+                statuses.put(status, byStatus[status.ordinal()].sum());
+            }
+            Map<Priority, Long> priorities = new EnumMap<>(Priority.class);
+            for (Priority priority : PRIORITIES) {
+                priorities.put(priority, byPriority[priority.ordinal()].sum());
+            }
+            TaskCounts counts = new TaskCounts(total.sum(), Collections.unmodifiableMap(statuses),
+                Collections.unmodifiableMap(priorities));
+            snapshot = new Snapshot(current, counts);
+            return counts;
+        }
+
+        private static LongAdder[] adders(int size) {
+            LongAdder[] adders = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+
+    private record Snapshot(long version, TaskCounts counts) {
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.TaskManagerBackend.service;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.TaskEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans task change events out to server-sent event subscribers. Connections
+ * are held by the servlet container's async support, not by threads; each
+ * subscriber has a bounded buffer drained on a shared dispatch executor, and
+ * a subscriber that falls too far behind is disconnected so it can resume
+ * from its last event id. Recent events are kept in a ring buffer for resume.
+ * Subscribers only receive events for the tasks they own.
+ *
+ * <p>Event ids are {@code <epoch>-<sequence>}, where the epoch is drawn at
+ * startup. Sequences restart with every process and differ between
+ * instances, so an id from another epoch cannot be placed in this history
+ * and the client is told to reset instead.
+ */
+@Slf4j
+@Component
+public class TaskEventPublisher implements DisposableBean {
+
+    private static final TaskEvent HEARTBEAT = new TaskEvent(-1, "heartbeat", null);
+    private static final String RESET = "reset";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final TaskEvent[] history;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final ExecutorService dispatcher;
+    private final String epoch = Long.toUnsignedString(new SecureRandom().nextLong(), 36);
+    private long lastSequence;
+
+    public TaskEventPublisher(@Value("${tasks.events.history-size:10000}") int historySize,
+            @Value("${tasks.events.subscriber-buffer:256}") int bufferSize,
+            @Value("${tasks.events.timeout:PT30M}") Duration timeout,
+            @Value("${tasks.events.dispatch-threads:4}") int dispatchThreads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.history = new TaskEvent[historySize];
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.dispatcher = virtualThreads
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(dispatchThreads, new CustomizableThreadFactory("task-events-"));
+    }
+
+    /**
+     * Numbers the event and hands it to every subscriber under one lock, so
+     * buffers receive events in sequence order and a subscriber joining
+     * concurrently gets each event exactly once, from either its replay or
+     * the fan-out. Offering only enqueues, so the lock is held briefly.
+     */
+    public void publish(String type, Task task) {
+        publishLock.lock();
+        try {
+            TaskEvent event = new TaskEvent(++lastSequence, type, task);
+            history[(int) (event.sequence() % history.length)] = event;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Opens a stream for a client. When {@code lastEventId} is given the
+     * events after it are replayed first; if they are no longer retained, or
+     * the id is from another epoch, the client receives a {@code reset} event
+     * and should reload its task list.
+     */
+    public SseEmitter subscribe(long ownerId, String lastEventId) {
+        Subscriber subscriber = new Subscriber(ownerId, new SseEmitter(timeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+
+        publishLock.lock();
+        try {
+            Long lastSeen = lastEventId == null ? null : sequenceOf(lastEventId);
+            if (lastEventId != null && (lastSeen == null || lastSeen != lastSequence)) {
+                long oldestRetained = Math.max(1, lastSequence - history.length + 1);
+                if (lastSeen == null || lastSeen > lastSequence || lastSeen + 1 < oldestRetained
+                        || lastSequence - lastSeen > bufferSize) {
+                    subscriber.offer(new TaskEvent(lastSequence, RESET, null));
+                } else {
+                    for (long sequence = lastSeen + 1; sequence <= lastSequence; sequence++) {
+                        subscriber.offer(history[(int) (sequence % history.length)]);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            publishLock.unlock();
+        }
+        return subscriber.emitter;
+    }
+
+    /** The sequence of an id from this epoch, or null for any other id. */
+    private Long sequenceOf(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !epoch.equals(eventId.substring(0, dash))) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + '-' + sequence;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Scheduled(fixedRateString = "${tasks.events.heartbeat:PT30S}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.buffer.isEmpty()) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final long ownerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<TaskEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(long ownerId, SseEmitter emitter) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+        }
+
+        void offer(TaskEvent event) {
+            if (event == null || event.task() != null && !Long.valueOf(ownerId).equals(event.task().getOwnerId())) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.debug("Disconnecting slow task event subscriber");
+                disconnect();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                TaskEvent event;
+                while ((event = buffer.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                            .id(eventId(event.sequence()))
+                            .name(event.type())
+                            .data(event.task() == null ? "" : event.task()));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                disconnect();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void disconnect() {
+            if (subscribers.remove(this)) {
+                buffer.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
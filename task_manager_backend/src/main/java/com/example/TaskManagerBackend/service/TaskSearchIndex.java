@@ -0,0 +1,293 @@
+package com.example.TaskManagerBackend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.TaskSearchResult;
+import com.example.TaskManagerBackend.repository.TaskRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index over task titles and descriptions. Terms map to
+ * the tasks containing them with a per-field weight; queries match every
+ * term, treating the last one as a prefix, and rank by weighted idf. The
+ * index is sharded by owner so a query only touches the caller's tasks.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    private static final float TITLE_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_PENALTY = 0.8f;
+    private static final String[] NO_TERMS = new String[0];
+
+    private final Map<Long, Shard> shards = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedTask> documents = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${tasks.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.nanoTime();
+        clear();
+        try (Stream<Task> tasks = taskRepository.streamAll()) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                index(task);
+                entityManager.detach(task);
+            }
+        }
+        log.info("Indexed {} tasks for search in {} ms", documents.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public void index(Task task) {
+        if (task.getOwnerId() == null) {
+            return;
+        }
+        write(task.getId(), task.getOwnerId(), tokenize(task.getTitle()), tokenize(task.getDescription()));
+    }
+
+    /**
+     * Re-indexes the given fields of a task; a null field keeps the terms
+     * previously indexed for it. The current document is read under the write
+     * lock so a concurrent update of the other field is not lost.
+     */
+    public void update(long id, String title, String description) {
+        String[] newTitleTerms = title != null ? tokenize(title) : null;
+        String[] newDescriptionTerms = description != null ? tokenize(description) : null;
+        writeLock.lock();
+        try {
+            IndexedTask current = documents.get(id);
+            if (current == null) {
+                return;
+            }
+            String[] titleTerms = newTitleTerms != null ? newTitleTerms : current.titleTerms();
+            String[] descriptionTerms = newDescriptionTerms != null ? newDescriptionTerms : current.descriptionTerms();
+            put(id, current.ownerId(), titleTerms, descriptionTerms, weights(titleTerms, descriptionTerms));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void clear() {
+        writeLock.lock();
+        try {
+            shards.clear();
+            documents.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Drops every task of an owner, for when the owner is deleted. */
+    public void removeOwner(long ownerId) {
+        writeLock.lock();
+        try {
+            shards.remove(ownerId);
+            documents.values().removeIf(document -> document.ownerId() == ownerId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private void write(long id, long ownerId, String[] titleTerms, String[] descriptionTerms) {
+        Map<String, Float> weights = weights(titleTerms, descriptionTerms);
+        writeLock.lock();
+        try {
+            put(id, ownerId, titleTerms, descriptionTerms, weights);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Map<String, Float> weights(String[] titleTerms, String[] descriptionTerms) {
+        Map<String, Float> weights = new HashMap<>();
+        for (String term : descriptionTerms) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Float::sum);
+        }
+        for (String term : titleTerms) {
+            weights.merge(term, TITLE_WEIGHT, Float::sum);
+        }
+        return weights;
+    }
+
+    /** Callers hold the write lock. */
+    private void put(long id, long ownerId, String[] titleTerms, String[] descriptionTerms, Map<String, Float> weights) {
+        IndexedTask previous = documents.put(id, new IndexedTask(ownerId, titleTerms, descriptionTerms));
+        if (previous != null) {
+            removePostings(id, previous);
+        }
+        Shard shard = shards.computeIfAbsent(ownerId, owner -> new Shard());
+        shard.documentCount++;
+        weights.forEach((term, weight) -> shard.postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(id, weight));
+    }
+
+    private void removePostings(long id, IndexedTask previous) {
+        Shard shard = shards.get(previous.ownerId());
+        if (shard == null) {
+            return;
+        }
+        shard.documentCount--;
+        for (String[] terms : new String[][] {previous.titleTerms(), previous.descriptionTerms()}) {
+            for (String term : terms) {
+                Map<Long, Float> docs = shard.postings.get(term);
+                if (docs != null) {
+                    docs.remove(id);
+                    if (docs.isEmpty()) {
+                        shard.postings.remove(term);
+                    }
+                }
+            }
+        }
+        if (shard.documentCount == 0) {
+            shards.remove(previous.ownerId());
+        }
+    }
+
+    public TaskSearchResult search(long ownerId, String query, int page, int size) {
+        String[] terms = tokenize(query);
+        Shard shard = shards.get(ownerId);
+        if (terms.length == 0 || size <= 0 || shard == null) {
+            return new TaskSearchResult(List.of(), 0);
+        }
+        double documentCount = Math.max(1, shard.documentCount);
+        Map<Long, Float> scores = null;
+        for (int i = 0; i < terms.length; i++) {
+            Map<Long, Float> termScores = score(shard.postings, terms[i], i == terms.length - 1, documentCount);
+            scores = scores == null ? termScores : intersect(scores, termScores);
+            if (scores.isEmpty()) {
+                return new TaskSearchResult(List.of(), 0);
+            }
+        }
+        return new TaskSearchResult(topIds(scores, page, size), scores.size());
+    }
+
+    private static Map<Long, Float> score(NavigableMap<String, Map<Long, Float>> postings, String term, boolean prefix,
+            double documentCount) {
+        Map<Long, Float> scores = new HashMap<>();
+        Map<String, Map<Long, Float>> matches;
+        if (prefix) {
+            matches = postings.subMap(term, true, term + Character.MAX_VALUE, false);
+        } else {
+            Map<Long, Float> exact = postings.get(term);
+            matches = exact == null ? Map.of() : Map.of(term, exact);
+        }
+        for (Map.Entry<String, Map<Long, Float>> match : matches.entrySet()) {
+            Map<Long, Float> docs = match.getValue();
+            float idf = (float) Math.log(1 + documentCount / Math.max(1, docs.size()));
+            float boost = match.getKey().equals(term) ? idf : idf * PREFIX_PENALTY;
+            docs.forEach((id, weight) -> scores.merge(id, weight * boost, Math::max));
+        }
+        return scores;
+    }
+
+    private static Map<Long, Float> intersect(Map<Long, Float> left, Map<Long, Float> right) {
+        Map<Long, Float> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Float> larger = smaller == left ? right : left;
+        Map<Long, Float> result = new HashMap<>();
+        smaller.forEach((id, score) -> {
+            Float other = larger.get(id);
+            if (other != null) {
+                result.put(id, score + other);
+            }
+        });
+        return result;
+    }
+
+    private static List<Long> topIds(Map<Long, Float> scores, int page, int size) {
+        long wanted = (long) (page + 1) * size;
+        if (page < 0 || wanted - size >= scores.size()) {
+            return List.of();
+        }
+        Comparator<Map.Entry<Long, Float>> ranking = Map.Entry.<Long, Float>comparingByValue()
+            .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Float>> top = new PriorityQueue<>(ranking);
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+        List<Long> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(top.poll().getKey());
+        }
+        List<Long> ids = new ArrayList<>(size);
+        for (int i = ranked.size() - 1 - page * size; i >= 0 && ids.size() < size; i--) {
+            ids.add(ranked.get(i));
+        }
+        return ids;
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return NO_TERMS;
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms.toArray(NO_TERMS);
+    }
+
+    private record IndexedTask(long ownerId, String[] titleTerms, String[] descriptionTerms) {
+    }
+
+    private static final class Shard {
+        private final NavigableMap<String, Map<Long, Float>> postings = new ConcurrentSkipListMap<>();
+        private volatile int documentCount;
+    }
+}
@@ -1,45 +1,424 @@
 package com.example.TaskManagerBackend.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
 import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.TaskChanges;
+import com.example.TaskManagerBackend.models.TaskCounts;
+import com.example.TaskManagerBackend.models.TaskCursor;
+import com.example.TaskManagerBackend.models.TaskEvent;
+import com.example.TaskManagerBackend.models.TaskPage;
+import com.example.TaskManagerBackend.models.TaskPatch;
+import com.example.TaskManagerBackend.models.TaskSearchResult;
+import com.example.TaskManagerBackend.models.TaskStamp;
+import com.example.TaskManagerBackend.models.UserPrincipal;
+import com.example.TaskManagerBackend.models.WriteAck;
 import com.example.TaskManagerBackend.repository.TaskRepository;
+import com.example.TaskManagerBackend.repository.TaskRevisionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Slf4j
 @Service
+@Timed(value = "service.calls", histogram = true)
 public class TaskService {
     
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskRevisionRepository taskRevisions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskCounter taskCounter;
+
+    @Autowired
+    private TaskWriteBehind writeBehind;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${tasks.list.max-results:1000}")
+    private int maxListResults;
+
+    @Value("${tasks.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${tasks.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Value("${tasks.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    @Value("${tasks.changes.settle-time:PT5S}")
+    private Duration changesSettleTime;
+
+    @PostConstruct
+    void listenForBackgroundWrites() {
+        writeBehind.onCommitted(tasks -> tasks.forEach(task -> {
+            taskCounter.created(task.getOwnerId(), task.getStatus(), task.getPriority());
+            changed(TaskEvent.CREATED, task);
+        }));
+    }
+
     public Task createTask(Task task){
-        System.out.println("Creating task: " + task.getTitle());
+        return createTask(task, null);
+    }
+
+    /**
+     * Creates a task, through the write-behind queue when it is enabled and
+     * has room. {@code ack} picks when a queued task is acknowledged; null
+     * uses the configured default.
+     */
+    public Task createTask(Task task, WriteAck ack){
+        log.info("Creating task {}", task.getTitle());
+        task.setId(0);
+        task.setVersion(0);
+        task.setOwnerId(currentUserId());
         task.setCreationDateTime(LocalDateTime.now());
-        return taskRepository.save(task);
+        if (writeBehind.isEnabled()) {
+            Task queued = writeBehind.submit(task, ack);
+            if (queued != null) {
+                return queued;
+            }
+        }
+        Task saved = taskRepository.save(task);
+        // Outside a transaction this bumps after the insert has committed,
+        // which at worst costs a client one extra full response.
+        taskRevisions.bump(saved.getOwnerId());
+        afterCommit(() -> {
+            taskCounter.created(saved.getOwnerId(), saved.getStatus(), saved.getPriority());
+            changed(TaskEvent.CREATED, saved);
+        });
+        return saved;
     }
 
+    @Transactional
     public Task updateTask(int id, Task newTask){
-        System.out.println("Updating task with ID: " + id);
-         return taskRepository.findById(id)
+        log.info("Updating task {}", id);
+         return findOwned(id)
       .map(task -> {
+        Status oldStatus = task.getStatus();
+        Priority oldPriority = task.getPriority();
         task.setTitle(newTask.getTitle());
         task.setStatus(newTask.getStatus());
         task.setPriority(newTask.getPriority());
         task.setDescription(newTask.getDescription());
-        return taskRepository.save(task);
-      }).get();
+        Task saved = taskRepository.save(task);
+        taskRevisions.bump(saved.getOwnerId());
+        afterCommit(() -> {
+            taskCounter.updated(saved.getOwnerId(), oldStatus, oldPriority, saved.getStatus(), saved.getPriority());
+            changed(TaskEvent.UPDATED, saved);
+        });
+        return saved;
+      }).orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * Applies the supplied fields to the task and returns its new version.
+     * The task is loaded by primary key, so with a warm second-level cache
+     * the only statement is the versioned UPDATE and only this task's cache
+     * entry is replaced.
+     */
+    @Transactional
+    public long patchTask(long id, TaskPatch patch) {
+        log.info("Patching task {}", id);
+        Task task = findOwned((int) id).orElseThrow(() -> notFound(id));
+        if (patch.version() != null && patch.version() != task.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+        Status oldStatus = task.getStatus();
+        Priority oldPriority = task.getPriority();
+        if (patch.title() != null) {
+            task.setTitle(patch.title());
+        }
+        if (patch.description() != null) {
+            task.setDescription(patch.description());
+        }
+        if (patch.status() != null) {
+            task.setStatus(patch.status());
+        }
+        if (patch.priority() != null) {
+            task.setPriority(patch.priority());
+        }
+        Task saved = taskRepository.saveAndFlush(task);
+        taskRevisions.bump(saved.getOwnerId());
+        afterCommit(() -> patched(saved, oldStatus, oldPriority, patch));
+        return saved.getVersion();
+    }
+
+    @Transactional
+    public List<Task> createTasks(List<Task> tasks) {
+        log.info("Creating {} tasks", tasks.size());
+        checkBatchSize(tasks);
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        long ownerId = currentUserId();
+        LocalDateTime now = LocalDateTime.now();
+        for (Task task : tasks) {
+            task.setId(0);
+            task.setVersion(0);
+            task.setOwnerId(ownerId);
+            task.setCreationDateTime(now);
+        }
+        List<Task> saved = saveInChunks(tasks);
+        taskRevisions.bump(ownerId);
+        return saved;
+    }
+
+    @Transactional
+    public List<Task> updateTasks(List<Task> newTasks) {
+        log.info("Updating {} tasks", newTasks.size());
+        checkBatchSize(newTasks);
+        Long ownerId = currentUserId();
+        List<Task> updated = new ArrayList<>(newTasks.size());
+        for (int from = 0; from < newTasks.size(); from += batchChunkSize) {
+            List<Task> chunk = newTasks.subList(from, Math.min(from + batchChunkSize, newTasks.size()));
+            Map<Long, Task> existing = taskRepository.findAllById(chunk.stream().map(task -> (int) task.getId()).toList())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+            for (Task newTask : chunk) {
+                Task task = existing.get(newTask.getId());
+                if (task == null || !ownerId.equals(task.getOwnerId())) {
+                    throw notFound(newTask.getId());
+                }
+                task.setTitle(newTask.getTitle());
+                task.setStatus(newTask.getStatus());
+                task.setPriority(newTask.getPriority());
+                task.setDescription(newTask.getDescription());
+                updated.add(task);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        taskRevisions.bump(ownerId);
+        afterCommit(() -> {
+            taskCounter.invalidate(ownerId);
+            updated.forEach(task -> changed(TaskEvent.UPDATED, task));
+        });
+        return updated;
     }
 
+    private void checkBatchSize(List<Task> tasks) {
+        if (tasks.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch exceeds " + maxBatchSize + " tasks");
+        }
+    }
+
+    private List<Task> saveInChunks(List<Task> tasks) {
+        List<Task> saved = new ArrayList<>(tasks.size());
+        for (int from = 0; from < tasks.size(); from += batchChunkSize) {
+            saved.addAll(taskRepository.saveAll(tasks.subList(from, Math.min(from + batchChunkSize, tasks.size()))));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        afterCommit(() -> saved.forEach(task -> {
+            taskCounter.created(task.getOwnerId(), task.getStatus(), task.getPriority());
+            changed(TaskEvent.CREATED, task);
+        }));
+        return saved;
+    }
+
+    private void changed(String type, Task task) {
+        searchIndex.index(task);
+        eventPublisher.publish(type, task);
+    }
+
+    private void patched(Task task, Status oldStatus, Priority oldPriority, TaskPatch patch) {
+        taskCounter.updated(task.getOwnerId(), oldStatus, oldPriority, task.getStatus(), task.getPriority());
+        if (patch.title() != null || patch.description() != null) {
+            searchIndex.update(task.getId(), patch.title(), patch.description());
+        }
+        Task delta = new Task(task.getId(), patch.title(), patch.description(), patch.status(), null, patch.priority());
+        delta.setVersion(task.getVersion());
+        delta.setOwnerId(task.getOwnerId());
+        eventPublisher.publish(TaskEvent.PATCHED, delta);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Looks the task up by primary key so the second-level cache still
+     * answers it, then hides it unless the caller owns it.
+     */
+    private Optional<Task> findOwned(int id) {
+        Long ownerId = currentUserId();
+        return taskRepository.findById(id).filter(task -> ownerId.equals(task.getOwnerId()));
+    }
+
+    /** Missing and foreign tasks look the same to the caller; both map to 404. */
+    private static NoSuchElementException notFound(long id) {
+        return new NoSuchElementException("Task not found: " + id);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new AccessDeniedException("No authenticated user");
+        }
+        return principal.getId();
+    }
+
+    @Transactional(readOnly = true)
     public Task getTask(int id) {
-        System.out.println("Fetching task with ID: " + id);
-        return taskRepository.findById(id).get();
+        log.debug("Fetching task {}", id);
+        Task pending = writeBehind.pending(id);
+        if (pending != null && pending.getOwnerId().equals(currentUserId())) {
+            return pending;
+        }
+        return findOwned(id).orElseThrow(() -> notFound(id));
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getAllTasks() {
-        System.out.println("Fetching all tasks");
-        return taskRepository.findAll();
+        log.debug("Fetching all tasks");
+        return taskRepository.findAllByOwnerIdOrderByCreationDateTimeAscIdAsc(currentUserId(), PageRequest.ofSize(maxListResults));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPage getTaskPage(Status status, Priority priority, String cursor, int size) {
+        log.debug("Fetching task page after cursor {}", cursor);
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+        Long ownerId = currentUserId();
+        List<Task> tasks;
+        if (cursor == null || cursor.isBlank()) {
+            tasks = taskRepository.findFirstPage(ownerId, status, priority, limit);
+        } else {
+            TaskCursor after = TaskCursor.decode(cursor);
+            tasks = taskRepository.findPageAfter(ownerId, status, priority, after.creationDateTime(), after.id(), limit);
+        }
+        if (tasks.size() <= pageSize) {
+            return new TaskPage(tasks, null);
+        }
+        List<Task> page = tasks.subList(0, pageSize);
+        return new TaskPage(page, TaskCursor.of(page.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Tags the caller's task list with their revision, which every write bumps
+     * in its own transaction. The list has no Last-Modified: updatedAt is
+     * stamped before commit, so a change can surface with an older time.
+     */
+    @Transactional(readOnly = true)
+    public TaskStamp getTasksStamp() {
+        Long revision = taskRevisions.findRevision(currentUserId());
+        return new TaskStamp(revision == null ? "0" : Long.toString(revision), null);
+    }
+
+    public TaskCounts getTaskCounts() {
+        return taskCounter.counts(currentUserId());
+    }
+
+    /**
+     * Returns tasks changed after the cursor, leaving out changes made within
+     * {@code tasks.changes.settle-time}. updatedAt is stamped before commit,
+     * by whichever instance made the change, so a recent change can become
+     * visible after a later one has already been read; holding the cursor
+     * back by more than the longest write transaction plus clock skew means
+     * it never moves past a change that has yet to appear. Live updates come
+     * from the event stream.
+     */
+    @Transactional(readOnly = true)
+    public TaskChanges getChangesSince(Instant since, long afterId, int size) {
+        log.debug("Fetching tasks changed since {} after {}", since, afterId);
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        Instant until = Task.now().minus(changesSettleTime);
+        List<Task> tasks = taskRepository.findChangedSince(currentUserId(), since, afterId, until, PageRequest.ofSize(pageSize + 1));
+        boolean more = tasks.size() > pageSize;
+        if (more) {
+            tasks = tasks.subList(0, pageSize);
+        }
+        if (tasks.isEmpty()) {
+            return new TaskChanges(tasks, since, afterId, false);
+        }
+        Task last = tasks.get(tasks.size() - 1);
+        return new TaskChanges(tasks, last.getUpdatedAt(), last.getId(), more);
+    }
+
+    public SseEmitter subscribeToEvents(String lastEventId) {
+        log.debug("Subscribing to task events after {}", lastEventId);
+        return eventPublisher.subscribe(currentUserId(), lastEventId);
+    }
+
+    public TaskSearchResult searchTasks(String query, int page, int size) {
+        log.debug("Searching tasks for {}", query);
+        return searchIndex.search(currentUserId(), query, page, Math.max(1, Math.min(size, maxPageSize)));
+    }
+
+    @Transactional(readOnly = true)
+    public long exportTasks(OutputStream out) throws IOException {
+        log.info("Exporting tasks");
+        ObjectWriter writer = objectMapper.writerFor(Task.class);
+        long count = 0;
+        try (Stream<Task> tasks = taskRepository.streamByOwnerId(currentUserId())) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                out.write(writer.writeValueAsBytes(task));
+                out.write('\n');
+                entityManager.detach(task);
+                count++;
+            }
+        }
+        out.flush();
+        return count;
     }
 }
@@ -0,0 +1,630 @@
+package com.example.TaskManagerBackend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.TaskManagerBackend.config.ReadYourWritesTracker;
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.WriteAck;
+import com.example.TaskManagerBackend.repository.TaskRevisionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in write-behind path for task creation. A task gets its id from the
+ * entity's own sequence generator, so ids come out of the same pre-allocated
+ * blocks Hibernate uses, and is appended to a local journal before the
+ * caller is answered. A single writer thread drains the queue into the
+ * database in multi-row inserts; it starts once the application is ready, so
+ * every commit listener is registered before the first batch, replayed or
+ * not. Journal segments are deleted once every task in them is committed;
+ * whatever is left at startup is replayed.
+ *
+ * <p>A batch that fails on a lost connection, a lock timeout or a deadlock is
+ * retried with backoff. Any other failure is not going to go away, so the
+ * batch is split until the rows that fail on their own are found. Those rows
+ * are dead-lettered: logged with their full content, counted in
+ * {@code tasks.write-behind.dead-lettered} and dropped, so they do not hold
+ * up the tasks queued behind them.
+ */
+@Slf4j
+@Component
+public class TaskWriteBehind {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_BYTES = 8;
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Map<Long, Task> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    private TaskRevisionRepository taskRevisions;
+
+    @Value("${tasks.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${tasks.write-behind.journal-dir:data/journal}")
+    private Path journalDir;
+
+    @Value("${tasks.write-behind.segment-size:67108864}")
+    private long segmentSize;
+
+    @Value("${tasks.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${tasks.write-behind.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${tasks.write-behind.flush-interval:PT0.01S}")
+    private Duration flushInterval;
+
+    @Value("${tasks.write-behind.commit-timeout:PT5S}")
+    private Duration commitTimeout;
+
+    @Value("${tasks.write-behind.default-ack:JOURNALED}")
+    private WriteAck defaultAck;
+
+    private Semaphore capacity;
+    private BeforeExecutionGenerator idGenerator;
+    private FileChannel channel;
+    private long segment;
+    private long segmentStart;
+    private long written;
+    private long synced;
+    private volatile boolean running;
+    private Thread writer;
+    private Timer batchTimer;
+    private Counter deadLettered;
+    private volatile Consumer<List<Task>> onCommitted = tasks -> { };
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Receives every batch of tasks after it is committed. */
+    public void onCommitted(Consumer<List<Task>> listener) {
+        this.onCommitted = listener;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        capacity = new Semaphore(maxPending);
+        SessionFactoryImplementor factory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        idGenerator = (BeforeExecutionGenerator) factory.getMappingMetamodel().getEntityDescriptor(Task.class).getGenerator();
+        batchTimer = Timer.builder("tasks.write-behind.batch")
+            .description("Time to insert one write-behind batch")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        deadLettered = Counter.builder("tasks.write-behind.dead-lettered")
+            .description("Tasks dropped because the database rejected them")
+            .register(meterRegistry);
+        Gauge.builder("tasks.write-behind.pending", pending, Map::size)
+            .description("Tasks accepted but not yet committed")
+            .register(meterRegistry);
+
+        Files.createDirectories(journalDir);
+        long lastSegment = replay();
+        openSegment(lastSegment + 1);
+        running = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void startWriter() {
+        if (!enabled) {
+            return;
+        }
+        writer = new Thread(this::drain, "task-write-behind");
+        writer.start();
+    }
+
+    /**
+     * Accepts a task for background insertion and returns it with its id,
+     * or returns null when the queue is full and the caller should insert
+     * synchronously instead.
+     */
+    public Task submit(Task task, WriteAck ack) {
+        if (!running || !capacity.tryAcquire()) {
+            return null;
+        }
+        Entry entry;
+        long position;
+        try {
+            task.setId(nextId());
+            task.setVersion(0);
+            task.setUpdatedAt(Task.now());
+            entry = new Entry(task, false, currentUsername());
+            pending.put(task.getId(), task);
+            position = append(entry);
+        } catch (IOException | RuntimeException e) {
+            pending.remove(task.getId());
+            capacity.release();
+            throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+        }
+        switch (ack == null ? defaultAck : ack) {
+            case QUEUED -> { }
+            case JOURNALED -> sync(position);
+            case COMMITTED -> awaitCommit(entry);
+        }
+        return task;
+    }
+
+    public Task pending(long id) {
+        return pending.get(id);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    private long nextId() {
+        SessionFactoryImplementor factory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        try (StatelessSession session = factory.openStatelessSession()) {
+            Object id = idGenerator.generate((SharedSessionContractImplementor) session, null, null, EventType.INSERT);
+            return ((Number) id).longValue();
+        }
+    }
+
+    private long append(Entry entry) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(JournaledTask.of(entry.task));
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length)
+            .putInt(payload.length)
+            .putInt((int) crc.getValue())
+            .put(payload)
+            .flip();
+        appendLock.lock();
+        try {
+            if (written - segmentStart + record.remaining() > segmentSize) {
+                channel.force(false);
+                channel.close();
+                openSegment(segment + 1);
+            }
+            while (record.hasRemaining()) {
+                written += channel.write(record);
+            }
+            entry.segment = segment;
+            queue.add(entry);
+            return written;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Forces the journal up to the given position. Concurrent callers share
+     * one force: whoever holds the lock syncs everything written so far.
+     */
+    private void sync(long position) {
+        syncLock.lock();
+        try {
+            if (synced >= position) {
+                return;
+            }
+            FileChannel current;
+            long target;
+            appendLock.lock();
+            try {
+                current = channel;
+                target = written;
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                current.force(false);
+            } catch (ClosedChannelException e) {
+                // rotated away, and the old segment was forced before closing
+            }
+            synced = target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void awaitCommit(Entry entry) {
+        try {
+            entry.committed.get(commitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new TaskWriteTimeoutException("Task " + entry.task.getId() + " is journaled but not yet committed");
+        } catch (ExecutionException e) {
+            throw new TaskWriteTimeoutException("Task " + entry.task.getId() + " is journaled but could not be committed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskWriteTimeoutException("Interrupted waiting for task " + entry.task.getId());
+        }
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void write(List<Entry> batch) throws InterruptedException {
+        List<Entry> inserted = new ArrayList<>(batch.size());
+        Set<Entry> rejected = new HashSet<>();
+        insertOrSplit(batch, inserted, rejected);
+        for (Entry entry : batch) {
+            if (rejected.contains(entry)) {
+                entry.committed.completeExceptionally(new IllegalStateException("Task " + entry.task.getId() + " was rejected"));
+            } else if (entry.username != null) {
+                // The writer has no security context, so record the write for the
+                // submitter before the task stops being readable from memory.
+                readYourWrites.recordWrite(entry.username);
+            }
+            pending.remove(entry.task.getId());
+            if (!entry.replayed) {
+                capacity.release();
+            }
+            entry.committed.complete(null);
+        }
+        deleteCommittedSegments();
+        List<Task> tasks = inserted.stream().map(entry -> entry.task).toList();
+        try {
+            onCommitted.accept(tasks);
+        } catch (RuntimeException e) {
+            log.warn("Write-behind commit listener failed", e);
+        }
+    }
+
+    /**
+     * Inserts the batch, halving it on a non-transient failure until the
+     * failing rows are isolated and dead-lettered.
+     */
+    private void insertOrSplit(List<Entry> batch, List<Entry> inserted, Set<Entry> rejected) throws InterruptedException {
+        try {
+            inserted.addAll(insertWithRetry(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                deadLetter(batch.get(0), e);
+                rejected.add(batch.get(0));
+                return;
+            }
+            log.warn("Write-behind batch of {} tasks was rejected, splitting it to find the failing tasks", batch.size(), e);
+            int half = batch.size() / 2;
+            insertOrSplit(batch.subList(0, half), inserted, rejected);
+            insertOrSplit(batch.subList(half, batch.size()), inserted, rejected);
+        }
+    }
+
+    private List<Entry> insertWithRetry(List<Entry> batch) throws InterruptedException {
+        long backoff = 100;
+        while (true) {
+            try {
+                return batchTimer.record(() -> insert(batch));
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    throw e;
+                }
+                log.warn("Write-behind batch of {} tasks failed, retrying in {} ms", batch.size(), backoff, e);
+                if (!running) {
+                    throw new InterruptedException("Shutting down with an unwritten batch; it stays in the journal");
+                }
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, 5_000);
+            }
+        }
+    }
+
+    /**
+     * Whether a retry can succeed: connection loss, lock timeouts and
+     * deadlocks, whether or not Spring translated the driver's exception.
+     */
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void deadLetter(Entry entry, RuntimeException e) {
+        deadLettered.increment();
+        String content;
+        try {
+            content = objectMapper.writeValueAsString(JournaledTask.of(entry.task));
+        } catch (IOException | RuntimeException serializationFailure) {
+            content = entry.task.toString();
+        }
+        log.error("Dropping write-behind task {} rejected by the database: {}", entry.task.getId(), content, e);
+    }
+
+    /**
+     * Inserts the batch with one multi-row HQL insert so Hibernate binds the
+     * values and invalidates the task cache regions as for any bulk write.
+     * Returns the entries actually inserted: replayed tasks that were already
+     * committed before a restart are skipped.
+     */
+    private List<Entry> insert(List<Entry> batch) {
+        return transactionTemplate.execute(status -> {
+            List<Entry> toInsert = batch;
+            if (batch.stream().anyMatch(entry -> entry.replayed)) {
+                Set<Long> existing = new HashSet<>(entityManager
+                    .createQuery("select t.id from Task t where t.id in :ids", Long.class)
+                    .setParameter("ids", batch.stream().map(entry -> entry.task.getId()).toList())
+                    .getResultList());
+                toInsert = batch.stream().filter(entry -> !existing.contains(entry.task.getId())).toList();
+                if (toInsert.isEmpty()) {
+                    return toInsert;
+                }
+            }
+            // Stamp the change time at insert rather than at submit, so it
+            // trails the commit by one transaction like any other write.
+            Instant updatedAt = Task.now();
+            toInsert.forEach(entry -> entry.task.setUpdatedAt(updatedAt));
+            StringBuilder hql = new StringBuilder(
+                "insert into Task (id, title, description, status, creationDateTime, priority, updatedAt, ownerId) values ");
+            for (int i = 0; i < toInsert.size(); i++) {
+                hql.append(i == 0 ? "" : ", ")
+                    .append("(:id").append(i).append(", :title").append(i).append(", :description").append(i)
+                    .append(", :status").append(i).append(", :created").append(i).append(", :priority").append(i)
+                    .append(", :updated").append(i).append(", :owner").append(i).append(')');
+            }
+            Query query = entityManager.createQuery(hql.toString());
+            for (int i = 0; i < toInsert.size(); i++) {
+                Task task = toInsert.get(i).task;
+                query.setParameter("id" + i, task.getId())
+                    .setParameter("title" + i, task.getTitle())
+                    .setParameter("description" + i, task.getDescription())
+                    .setParameter("status" + i, task.getStatus())
+                    .setParameter("created" + i, task.getCreationDateTime())
+                    .setParameter("priority" + i, task.getPriority())
+                    .setParameter("updated" + i, task.getUpdatedAt())
+                    .setParameter("owner" + i, task.getOwnerId());
+            }
+            query.executeUpdate();
+            // Owners in id order, so concurrent writers lock revisions alike
+            toInsert.stream().map(entry -> entry.task.getOwnerId()).distinct().sorted().forEach(taskRevisions::bump);
+            return toInsert;
+        });
+    }
+
+    private long replay() throws IOException {
+        long last = 0;
+        int replayed = 0;
+        for (long number : segments()) {
+            last = number;
+            Path path = segmentPath(number);
+            try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long valid = 0;
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                while (true) {
+                    header.clear();
+                    if (in.read(header, valid) < HEADER_BYTES) {
+                        break;
+                    }
+                    int length = header.getInt(0);
+                    if (length <= 0 || valid + HEADER_BYTES + length > in.size()) {
+                        break;
+                    }
+                    ByteBuffer payload = ByteBuffer.allocate(length);
+                    in.read(payload, valid + HEADER_BYTES);
+                    CRC32C crc = new CRC32C();
+                    crc.update(payload.array());
+                    if ((int) crc.getValue() != header.getInt(4)) {
+                        break;
+                    }
+                    Task task = objectMapper.readValue(payload.array(), JournaledTask.class).toTask();
+                    Entry entry = new Entry(task, true, null);
+                    entry.segment = number;
+                    pending.put(task.getId(), task);
+                    queue.add(entry);
+                    replayed++;
+                    valid += HEADER_BYTES + length;
+                }
+                if (valid < in.size()) {
+                    log.warn("Truncating torn journal record in {} at offset {}", path, valid);
+                    in.truncate(valid);
+                }
+            }
+        }
+        if (replayed > 0) {
+            log.info("Replaying {} journaled tasks", replayed);
+        }
+        return last;
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        channel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        segment = number;
+        segmentStart = written;
+    }
+
+    /**
+     * Deletes the segments older than the oldest queued entry's. Entries are
+     * queued in journal order under the append lock, so an empty queue means
+     * everything before the current segment is committed.
+     */
+    private void deleteCommittedSegments() {
+        long oldest;
+        appendLock.lock();
+        try {
+            Entry head = queue.peek();
+            oldest = head != null ? head.segment : segment;
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            for (long older : segments()) {
+                if (older < oldest) {
+                    Files.deleteIfExists(segmentPath(older));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete committed journal segments", e);
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return journalDir.resolve(String.format("%020d%s", number, SEGMENT_SUFFIX));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        if (writer != null) {
+            writer.join(commitTimeout.toMillis());
+            writer.interrupt();
+        }
+        appendLock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+        } finally {
+            appendLock.unlock();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} write-behind tasks left in the journal for replay", queue.size());
+        }
+    }
+
+    private static final class Entry {
+        private final Task task;
+        private final boolean replayed;
+        /** Who submitted the task; unknown for tasks replayed from the journal. */
+        private final String username;
+        private final CompletableFuture<Void> committed = new CompletableFuture<>();
+        private long segment;
+
+        private Entry(Task task, boolean replayed, String username) {
+            this.task = task;
+            this.replayed = replayed;
+            this.username = username;
+        }
+    }
+
+    private record JournaledTask(long id, String title, String description, Status status,
+            LocalDateTime creationDateTime, Priority priority, Instant updatedAt, Long ownerId) {
+
+        static JournaledTask of(Task task) {
+            return new JournaledTask(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getCreationDateTime(), task.getPriority(), task.getUpdatedAt(), task.getOwnerId());
+        }
+
+        Task toTask() {
+            Task task = new Task(id, title, description, status, creationDateTime, priority);
+            task.setUpdatedAt(updatedAt);
+            task.setOwnerId(ownerId);
+            return task;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.TaskManagerBackend.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TaskWriteTimeoutException extends RuntimeException {
+
+    public TaskWriteTimeoutException(String message) {
+        super(message);
+    }
+}
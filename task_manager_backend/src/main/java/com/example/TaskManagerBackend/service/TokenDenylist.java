@@ -0,0 +1,92 @@
+package com.example.TaskManagerBackend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.TaskManagerBackend.models.RevokedToken;
+import com.example.TaskManagerBackend.repository.RevokedTokenRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Access tokens revoked before they expire, keyed by their {@code jti}. An
+ * entry only has to outlive the token it blocks, so with short access-token
+ * lifetimes the set stays small and each check is a single hash lookup.
+ *
+ * <p>Revocations are written to the {@code revoked_token} table and every
+ * instance copies the unexpired rows into memory each
+ * {@code jwt.denylist.sync-interval}, so a token revoked on one instance is
+ * rejected everywhere within that interval and immediately on the instance
+ * that revoked it.
+ */
+@Slf4j
+@Component
+public class TokenDenylist {
+
+    private final Map<String, Long> denied = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RevokedTokenRepository repository;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("security.tokens.denied", denied, Map::size)
+            .description("Revoked access tokens that have not yet expired")
+            .register(meterRegistry);
+    }
+
+    public void deny(String tokenId, long expiresAtMillis) {
+        if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        denied.put(tokenId, expiresAtMillis);
+        try {
+            repository.save(new RevokedToken(tokenId, expiresAtMillis));
+        } catch (DataIntegrityViolationException e) {
+            // another instance revoked it first
+        }
+    }
+
+    public boolean isDenied(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Long expiresAt = denied.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /** Picks up tokens revoked by other instances. */
+    @Scheduled(fixedDelayString = "${jwt.denylist.sync-interval:PT5S}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        try {
+            for (RevokedToken token : repository.findByExpiresAtGreaterThan(now)) {
+                denied.put(token.getTokenId(), token.getExpiresAt());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to sync revoked access tokens", e);
+        }
+        denied.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.denylist.purge-interval:PT1M}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        denied.values().removeIf(expiresAt -> expiresAt <= now);
+        repository.deleteExpired(now);
+    }
+}
@@ -2,63 +2,163 @@ package com.example.TaskManagerBackend.service;
 
 import java.util.List;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.example.TaskManagerBackend.config.ReadYourWritesTracker;
+import com.example.TaskManagerBackend.models.TokenPair;
 import com.example.TaskManagerBackend.models.User;
+import com.example.TaskManagerBackend.models.UserPrincipal;
+import com.example.TaskManagerBackend.repository.TaskRepository;
 import com.example.TaskManagerBackend.repository.UserRepository;
 
+@Slf4j
 @Service
+@Timed(value = "service.calls", histogram = true)
 public class UserService {
 
-    private BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder(12);
+    @Autowired
+    private PasswordEncoder passwordEncoder;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskCounter taskCounter;
+
     @Autowired
     private AuthenticationManager authenticationManager;
 
     @Autowired
     private JWTService jwtService;
 
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    private RefreshTokenStore refreshTokens;
+
     public User addUser(User user){
-        System.out.println("Adding user: " + user.getUsername());
-        user.setPassword(bCryptPasswordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        log.info("Adding user {}", user.getUsername());
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        User saved = userRepository.save(user);
+        userDetailsService.evict(saved.getUsername());
+        readYourWrites.recordWrite(saved.getUsername());
+        return saved;
     }
 
+    /**
+     * Deletes the user together with their tasks, which the owner foreign key
+     * would otherwise keep from being removed.
+     */
+    @Transactional
     public void removeUser(String username) {
-         System.out.println("Removing user: " + username);
+        log.info("Removing user {}", username);
        User user = userRepository.findByUsername(username);
        if(user == null){
         throw new UsernameNotFoundException("User not found");
        }
+       long ownerId = user.getId();
+       int tasks = taskRepository.deleteByOwnerId(ownerId);
+       log.info("Removed {} tasks of user {}", tasks, username);
        userRepository.delete(user);
+       TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+           @Override
+           public void afterCommit() {
+               searchIndex.removeOwner(ownerId);
+               taskCounter.invalidate(ownerId);
+           }
+       });
+       userDetailsService.evict(username);
+       refreshTokens.revokeUser(username);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
-        System.out.println("Fetching all users");
+        log.debug("Fetching all users");
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public User getUser(String username) {
-        System.out.println("Fetching user: " + username);
+        log.debug("Fetching user {}", username);
         return userRepository.findByUsername(username);
     }
 
 	public String verify(User user) {
-        System.out.println("Verifying user: " + user.getUsername());
+        log.info("Verifying user {}", user.getUsername());
         Authentication authentication =  authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword()));
 		if(authentication.isAuthenticated()){
-            return jwtService.generateToken(user.getUsername());
+            String role = authentication.getAuthorities().stream()
+                .findFirst()
+                .map(GrantedAuthority::getAuthority)
+                .orElse(null);
+            Long userId = authentication.getPrincipal() instanceof UserPrincipal principal ? principal.getId() : null;
+            return jwtService.generateToken(user.getUsername(), role, userId);
         }
         return "fail";
 	}
 
+    /**
+     * Opens a refresh-token session for an access token just returned by
+     * {@link #verify(User)}, or returns null if the login failed.
+     */
+    public String startSession(String accessToken) {
+        Claims claims;
+        try {
+            claims = jwtService.extractClaims(accessToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        return refreshTokens.issue(claims.getSubject(), claims.get(JWTService.USER_ID_CLAIM, Long.class),
+            claims.get(JWTService.ROLE_CLAIM, String.class), claims.getId(), claims.getExpiration().getTime());
+    }
+
+    /**
+     * Rotates a refresh token and issues a fresh access token from the
+     * identity captured at login, without touching the password hash.
+     */
+    public TokenPair refresh(String refreshToken) {
+        RefreshTokenStore.Rotation rotation = refreshTokens.rotate(refreshToken);
+        JWTService.AccessToken accessToken = jwtService.issueAccessToken(rotation.username(), rotation.role(), rotation.userId());
+        refreshTokens.accessTokenIssued(rotation.sessionId(), accessToken.id(), accessToken.expiresAtMillis());
+        return new TokenPair(accessToken.value(), rotation.refreshToken());
+    }
+
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null) {
+            refreshTokens.revoke(refreshToken);
+        }
+        if (accessToken != null) {
+            try {
+                jwtService.revoke(jwtService.extractClaims(accessToken));
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Ignoring invalid access token on logout");
+            }
+        }
+    }
+
 }
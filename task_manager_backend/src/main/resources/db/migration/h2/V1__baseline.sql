@@ -0,0 +1,26 @@
+-- Same schema as the MySQL baseline; H2 has native sequences.
+-- Connect with NON_KEYWORDS=USER so the user table needs no quoting.
+
+create table task (
+    id bigint not null,
+    creation_date_time timestamp(6),
+    description varchar(255),
+    priority tinyint check (priority between 0 and 2),
+    status tinyint check (status between 0 and 3),
+    title varchar(255),
+    primary key (id)
+);
+
+create sequence task_seq start with 1 increment by 50;
+
+create table user (
+    id bigint not null,
+    password varchar(255),
+    role varchar(255),
+    username varchar(255),
+    primary key (id)
+);
+
+alter table user add constraint uk_user_username unique (username);
+
+create sequence user_seq start with 1 increment by 50;
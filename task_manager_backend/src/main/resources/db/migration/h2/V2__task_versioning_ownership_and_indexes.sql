@@ -0,0 +1,10 @@
+alter table task add column version bigint not null default 0;
+alter table task add column updated_at timestamp(6) with time zone;
+alter table task add column owner_id bigint;
+
+alter table task add constraint fk_task_owner foreign key (owner_id) references user (id);
+
+create index idx_task_owner_created on task (owner_id, creation_date_time, id);
+create index idx_task_owner_status_created on task (owner_id, status, creation_date_time, id);
+create index idx_task_owner_priority_created on task (owner_id, priority, creation_date_time, id);
+create index idx_task_owner_updated on task (owner_id, updated_at, id);
@@ -0,0 +1,7 @@
+-- Same backfill as the MySQL migration.
+
+update task set updated_at = current_timestamp(6) where updated_at is null;
+
+update task
+set owner_id = (select u.id from user u where u.username = '${legacy-task-owner}')
+where owner_id is null;
@@ -0,0 +1,8 @@
+-- Same table as the MySQL migration.
+
+create table task_revision (
+    owner_id bigint not null,
+    revision bigint not null,
+    primary key (owner_id),
+    constraint fk_task_revision_owner foreign key (owner_id) references user (id) on delete cascade
+);
@@ -0,0 +1,33 @@
+-- Schema as originally generated by Hibernate with ddl-auto=update.
+
+create table task (
+    id bigint not null,
+    creation_date_time datetime(6),
+    description varchar(255),
+    priority tinyint check (priority between 0 and 2),
+    status tinyint check (status between 0 and 3),
+    title varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table task_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into task_seq values (1);
+
+create table user (
+    id bigint not null,
+    password varchar(255),
+    role varchar(255),
+    username varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+alter table user add constraint uk_user_username unique (username);
+
+create table user_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into user_seq values (1);
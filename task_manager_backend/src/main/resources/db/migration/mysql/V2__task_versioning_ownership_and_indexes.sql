@@ -0,0 +1,15 @@
+-- Optimistic locking, change tracking and per-user ownership of tasks, with
+-- the composite indexes behind the owner-scoped keyset pages, the change
+-- feed and the count queries.
+
+alter table task
+    add column version bigint not null default 0,
+    add column updated_at datetime(6),
+    add column owner_id bigint;
+
+alter table task add constraint fk_task_owner foreign key (owner_id) references user (id);
+
+create index idx_task_owner_created on task (owner_id, creation_date_time, id);
+create index idx_task_owner_status_created on task (owner_id, status, creation_date_time, id);
+create index idx_task_owner_priority_created on task (owner_id, priority, creation_date_time, id);
+create index idx_task_owner_updated on task (owner_id, updated_at, id);
@@ -0,0 +1,12 @@
+-- Rows from before V2 have no owner and no change time, so owner-scoped
+-- queries and the change feed never return them.
+
+-- Every existing row counts as changed now, so delta sync clients pick it up.
+-- updated_at holds UTC, as Hibernate writes Instants.
+update task set updated_at = utc_timestamp(6) where updated_at is null;
+
+-- Ownership was never recorded, so unowned tasks go to the user named by
+-- LEGACY_TASK_OWNER. Left empty, they stay unowned and invisible; see README.
+update task
+set owner_id = (select u.id from user u where u.username = '${legacy-task-owner}')
+where owner_id is null;
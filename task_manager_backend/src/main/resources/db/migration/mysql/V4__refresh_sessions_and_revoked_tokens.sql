@@ -0,0 +1,27 @@
+-- Refresh-token sessions and revoked access tokens, shared by every
+-- instance. Expiry times are epoch milliseconds.
+
+create table refresh_session (
+    id varchar(32) not null,
+    username varchar(255) not null,
+    user_id bigint,
+    role varchar(255),
+    secret_digest varbinary(32) not null,
+    idle_expires_at bigint not null,
+    absolute_expires_at bigint not null,
+    access_token_id varchar(64),
+    access_token_expires_at bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_refresh_session_username on refresh_session (username);
+create index idx_refresh_session_idle_expires on refresh_session (idle_expires_at);
+create index idx_refresh_session_absolute_expires on refresh_session (absolute_expires_at);
+
+create table revoked_token (
+    token_id varchar(64) not null,
+    expires_at bigint not null,
+    primary key (token_id)
+) engine=InnoDB;
+
+create index idx_revoked_token_expires on revoked_token (expires_at);
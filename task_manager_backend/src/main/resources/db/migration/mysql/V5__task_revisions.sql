@@ -0,0 +1,10 @@
+-- A counter per owner, bumped by every task write in the same transaction.
+-- It backs the task list's entity tag: unlike max(updated_at), which is
+-- stamped before commit, it cannot stay put while a change becomes visible.
+
+create table task_revision (
+    owner_id bigint not null,
+    revision bigint not null,
+    primary key (owner_id),
+    constraint fk_task_revision_owner foreign key (owner_id) references user (id) on delete cascade
+) engine=InnoDB;
@@ -0,0 +1,121 @@
+package com.example.TaskManagerBackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.TaskManagerBackend.models.User;
+import com.example.TaskManagerBackend.models.UserPrincipal;
+import com.example.TaskManagerBackend.service.InvalidRefreshTokenException;
+import com.example.TaskManagerBackend.service.JWTService;
+import com.example.TaskManagerBackend.service.RefreshTokenStore;
+import com.example.TaskManagerBackend.service.SigningKeyRing;
+import com.example.TaskManagerBackend.service.TokenDenylist;
+
+/**
+ * Runs two instances of the application in one JVM, sharing an in-memory
+ * database and the signing key file as a deployment would.
+ */
+public class MultiInstanceJwtTest {
+
+    @TempDir
+    static Path keys;
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startInstances() {
+        Path keyFile = keys.resolve("jwt-keys.properties");
+        first = start(keyFile);
+        second = start(keyFile);
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (first != null) {
+            first.close();
+        }
+        if (second != null) {
+            second.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Path keyFile) {
+        return new SpringApplicationBuilder(TaskManagerBackendApplication.class).run(
+            "--spring.datasource.url=jdbc:h2:mem:instances;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--server.port=0",
+            "--management.server.port=0",
+            "--tasks.cache.enabled=false",
+            "--tasks.search.rebuild-on-startup=false",
+            "--jwt.keys.file=" + keyFile,
+            "--jwt.keys.propagation-delay=PT0S");
+    }
+
+    @Test
+    @DisplayName("A token minted by one instance verifies on the other")
+    void sharesSigningKeys() {
+        String token = first.getBean(JWTService.class).generateToken("alice", "User", 1L);
+
+        assertThat(second.getBean(JWTService.class).extractClaims(token).getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    @DisplayName("After a rotation both instances sign with the new key and still accept the old one")
+    void rotatesWithOverlap() throws IOException {
+        String before = first.getBean(JWTService.class).generateToken("alice", "User", 1L);
+        String oldKid = first.getBean(SigningKeyRing.class).signingKey().kid();
+
+        first.getBean(SigningKeyRing.class).rotate();
+        second.getBean(SigningKeyRing.class).refresh();
+
+        String newKid = second.getBean(SigningKeyRing.class).signingKey().kid();
+        assertThat(newKid).isNotEqualTo(oldKid);
+        assertThat(first.getBean(SigningKeyRing.class).signingKey().kid()).isEqualTo(newKid);
+        String after = second.getBean(JWTService.class).generateToken("bob", "User", 2L);
+        assertThat(first.getBean(JWTService.class).extractClaims(after).getSubject()).isEqualTo("bob");
+        assertThat(second.getBean(JWTService.class).extractClaims(before).getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    @DisplayName("A session opened on one instance refreshes on the other, and reuse is caught on either")
+    void sharesRefreshSessions() {
+        String token = first.getBean(RefreshTokenStore.class)
+            .issue("alice", 1L, "User", "access-1", System.currentTimeMillis() + 60_000);
+
+        RefreshTokenStore.Rotation rotation = second.getBean(RefreshTokenStore.class).rotate(token);
+
+        assertThat(rotation.username()).isEqualTo("alice");
+        assertThatThrownBy(() -> first.getBean(RefreshTokenStore.class).rotate(token))
+            .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> second.getBean(RefreshTokenStore.class).rotate(rotation.refreshToken()))
+            .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    @DisplayName("An access token revoked on one instance is rejected by the other")
+    void sharesRevocations() {
+        JWTService issuer = first.getBean(JWTService.class);
+        String token = issuer.issueAccessToken("alice", "User", 1L).value();
+        UserPrincipal alice = new UserPrincipal(new User(1L, "alice", "password", "User"));
+        assertThat(second.getBean(JWTService.class).validateToken(token, alice)).isTrue();
+
+        issuer.revoke(issuer.extractClaims(token));
+        second.getBean(TokenDenylist.class).sync();
+
+        assertThat(second.getBean(JWTService.class).validateToken(token, alice)).isFalse();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.TaskManagerBackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.TaskManagerBackend.config.RateLimitFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServlet;
+
+public class RateLimitFilterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "authRate", 1.0);
+        ReflectionTestUtils.setField(filter, "authBurst", 2);
+        ReflectionTestUtils.setField(filter, "listRate", 10.0);
+        ReflectionTestUtils.setField(filter, "listBurst", 2);
+        ReflectionTestUtils.setField(filter, "defaultRate", 10.0);
+        ReflectionTestUtils.setField(filter, "defaultBurst", 2);
+        ReflectionTestUtils.setField(filter, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(filter, "maxConcurrentAuth", 1);
+        ReflectionTestUtils.setField(filter, "admissionTimeout", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(filter, "nanoClock", (LongSupplier) now::get);
+        ReflectionTestUtils.invokeMethod(filter, "init");
+    }
+
+    private MockHttpServletResponse send(String path) throws Exception {
+        return send(path, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse send(String path, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("A client over its budget gets 429 with Retry-After")
+    void rejectsOverBudget() throws Exception {
+        assertThat(send("/task/1").getStatus()).isEqualTo(200);
+        assertThat(send("/task/1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = send("/task/1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("The budget refills at the configured rate")
+    void refillsOverTime() throws Exception {
+        send("/login");
+        send("/login");
+        assertThat(send("/login").getStatus()).isEqualTo(429);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(send("/login").getStatus()).isEqualTo(429);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(send("/login").getStatus()).isEqualTo(200);
+        assertThat(send("/login").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Refresh shares the authentication budget")
+    void limitsRefreshWithAuth() throws Exception {
+        send("/login");
+        send("/login");
+
+        assertThat(send("/refresh").getStatus()).isEqualTo(429);
+        assertThat(send("/task/1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Requests beyond the concurrency limit are shed with 503, but authentication is admitted separately")
+    void shedsWhenFull() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                send("/task/1", new MockFilterChain(new HttpServlet() {
+                }, (Filter) (request, response, chain) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse shed = send("/task/2");
+        MockHttpServletResponse login = send("/login");
+
+        release.countDown();
+        holder.join();
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(login.getStatus()).isEqualTo(200);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(send("/task/2").getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.TaskManagerBackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.example.TaskManagerBackend.service.InvalidRefreshTokenException;
+import com.example.TaskManagerBackend.service.RefreshTokenStore;
+import com.example.TaskManagerBackend.service.TokenDenylist;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ RefreshTokenStore.class, TokenDenylist.class, RefreshTokenStoreTest.Metrics.class })
+@TestPropertySource(properties = "jwt.refresh-token.max-sessions-per-user=2")
+public class RefreshTokenStoreTest {
+
+    private static final long IN_AN_HOUR = System.currentTimeMillis() + 3_600_000;
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private RefreshTokenStore store;
+
+    @Autowired
+    private TokenDenylist denylist;
+
+    @Test
+    @DisplayName("Refreshing rotates the token and keeps the identity")
+    void rotatesToken() {
+        String token = store.issue("alice", 1L, "User", "access-1", IN_AN_HOUR);
+
+        RefreshTokenStore.Rotation rotation = store.rotate(token);
+
+        assertThat(rotation.refreshToken()).isNotEqualTo(token);
+        assertThat(rotation.username()).isEqualTo("alice");
+        assertThat(rotation.userId()).isEqualTo(1L);
+        assertThat(rotation.role()).isEqualTo("User");
+        assertThat(store.rotate(rotation.refreshToken()).username()).isEqualTo("alice");
+    }
+
+    @Test
+    @DisplayName("Reusing a rotated token revokes the session and its access token")
+    void detectsReuse() {
+        String token = store.issue("alice", 1L, "User", "access-1", IN_AN_HOUR);
+        RefreshTokenStore.Rotation rotation = store.rotate(token);
+        store.accessTokenIssued(rotation.sessionId(), "access-2", IN_AN_HOUR);
+
+        assertThatThrownBy(() -> store.rotate(token)).isInstanceOf(InvalidRefreshTokenException.class);
+
+        assertThat(denylist.isDenied("access-2")).isTrue();
+        assertThatThrownBy(() -> store.rotate(rotation.refreshToken())).isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    @DisplayName("Logging out ends the session")
+    void revokesSession() {
+        String token = store.issue("alice", 1L, "User", "access-1", IN_AN_HOUR);
+
+        store.revoke(token);
+
+        assertThat(denylist.isDenied("access-1")).isTrue();
+        assertThatThrownBy(() -> store.rotate(token)).isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    @DisplayName("A user past their session limit loses a session; other users keep theirs")
+    void staysBounded() {
+        String other = store.issue("bob", 2L, "User", "access-0", IN_AN_HOUR);
+        String first = store.issue("alice", 1L, "User", "access-1", IN_AN_HOUR);
+        String second = store.issue("alice", 1L, "User", "access-2", IN_AN_HOUR);
+        String third = store.issue("alice", 1L, "User", "access-3", IN_AN_HOUR);
+
+        assertThat(isValid(first) ^ isValid(second)).isTrue();
+        assertThat(isValid(third)).isTrue();
+        assertThat(isValid(other)).isTrue();
+    }
+
+    private boolean isValid(String token) {
+        try {
+            store.rotate(token);
+            return true;
+        } catch (InvalidRefreshTokenException e) {
+            return false;
+        }
+    }
+}
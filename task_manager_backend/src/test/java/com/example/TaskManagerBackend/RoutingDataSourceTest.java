@@ -0,0 +1,103 @@
+package com.example.TaskManagerBackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.TaskManagerBackend.config.ReadYourWritesTracker;
+import com.example.TaskManagerBackend.config.ReplicaRoutingDataSource;
+
+public class RoutingDataSourceTest {
+
+    private ReadYourWritesTracker readYourWrites;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        readYourWrites = new ReadYourWritesTracker();
+        ReflectionTestUtils.setField(readYourWrites, "window", Duration.ofSeconds(5));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null, "User"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private ReplicaRoutingDataSource route(DataSource replica) {
+        DataSource primary = database("primary");
+        ReplicaRoutingDataSource replicas = new ReplicaRoutingDataSource(primary, List.of(replica), readYourWrites);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicas);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return replicas;
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists node (name varchar(20))");
+        jdbc.update("delete from node");
+        jdbc.update("insert into node values (?)", name);
+        return dataSource;
+    }
+
+    private String node(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    @Test
+    @DisplayName("Read-only transactions go to a replica and others to the primary")
+    void routesByTransactionType() {
+        route(database("replica"));
+
+        assertThat(node(readOnly)).isEqualTo("replica");
+        assertThat(node(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("A user's reads stay on the primary right after they write")
+    void readsOwnWritesFromPrimary() {
+        route(database("replica"));
+
+        readYourWrites.recordWrite("alice");
+
+        assertThat(node(readOnly)).isEqualTo("primary");
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("bob", null, "User"));
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Unhealthy replicas are skipped")
+    void skipsUnhealthyReplicas() {
+        ReplicaRoutingDataSource replicas = route(
+            new DriverManagerDataSource("jdbc:h2:file:./build/missing/replica;IFEXISTS=TRUE", "sa", ""));
+
+        replicas.checkHealth(1);
+
+        assertThat(replicas.isHealthy(0)).isFalse();
+        assertThat(node(readOnly)).isEqualTo("primary");
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.TaskManagerBackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.example.TaskManagerBackend.models.TaskCountRow;
+import com.example.TaskManagerBackend.models.TaskCounts;
+import com.example.TaskManagerBackend.repository.TaskRepository;
+import com.example.TaskManagerBackend.service.TaskCounter;
+
+public class TaskCounterTest {
+
+    private static final long OWNER = 1;
+
+    private TaskRepository taskRepository;
+    private TaskCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        when(taskRepository.countByOwnerIds(anyCollection())).thenReturn(List.of(
+            new TaskCountRow(OWNER, Status.OPEN, Priority.HIGH, 2),
+            new TaskCountRow(OWNER, Status.CLOSED, Priority.LOW, 1)));
+        counter = new TaskCounter();
+        ReflectionTestUtils.setField(counter, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(counter, "idleTimeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(counter, "reconcileBatchSize", 500);
+    }
+
+    @Test
+    @DisplayName("Counts are loaded once and reused until something changes")
+    void reusesSnapshot() {
+        TaskCounts first = counter.counts(OWNER);
+        TaskCounts second = counter.counts(OWNER);
+
+        assertThat(first.total()).isEqualTo(3);
+        assertThat(first.byStatus()).containsEntry(Status.OPEN, 2L).containsEntry(Status.INPROGRESS, 0L);
+        assertThat(first.byPriority()).containsEntry(Priority.HIGH, 2L).containsEntry(Priority.LOW, 1L);
+        assertThat(second).isSameAs(first);
+        verify(taskRepository, times(1)).countByOwnerIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Creates and updates are applied without reloading")
+    void appliesIncrements() {
+        TaskCounts before = counter.counts(OWNER);
+
+        counter.created(OWNER, Status.OPEN, Priority.MEDIUM);
+        counter.updated(OWNER, Status.OPEN, Priority.HIGH, Status.CLOSED, Priority.HIGH);
+        TaskCounts after = counter.counts(OWNER);
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.total()).isEqualTo(4);
+        assertThat(after.byStatus()).containsEntry(Status.OPEN, 2L).containsEntry(Status.CLOSED, 2L);
+        assertThat(after.byPriority()).containsEntry(Priority.HIGH, 2L).containsEntry(Priority.MEDIUM, 1L);
+        assertThat(before.total()).isEqualTo(3);
+        verify(taskRepository, times(1)).countByOwnerIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("An invalidated owner is reloaded on the next read")
+    void reloadsAfterInvalidate() {
+        counter.counts(OWNER);
+        when(taskRepository.countByOwnerIds(anyCollection())).thenReturn(List.of(
+            new TaskCountRow(OWNER, Status.BLOCKED, Priority.LOW, 5)));
+
+        counter.invalidate(OWNER);
+        TaskCounts counts = counter.counts(OWNER);
+
+        assertThat(counts.total()).isEqualTo(5);
+        assertThat(counts.byStatus()).containsEntry(Status.BLOCKED, 5L).containsEntry(Status.OPEN, 0L);
+        verify(taskRepository, times(2)).countByOwnerIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Reconcile replaces drifted counts with the database's")
+    void reconcileCorrectsDrift() {
+        counter.counts(OWNER);
+        counter.created(OWNER, Status.OPEN, Priority.HIGH);
+        assertThat(counter.counts(OWNER).total()).isEqualTo(4);
+
+        counter.reconcile();
+        TaskCounts counts = counter.counts(OWNER);
+
+        assertThat(counts.total()).isEqualTo(3);
+        assertThat(counts.byStatus()).containsEntry(Status.OPEN, 2L);
+        verify(taskRepository, times(2)).countByOwnerIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Reconcile drops owners nobody has read within the idle timeout")
+    void reconcileEvictsIdleOwners() {
+        counter.counts(OWNER);
+        ReflectionTestUtils.setField(counter, "idleTimeout", Duration.ZERO);
+
+        counter.reconcile();
+        counter.created(OWNER, Status.OPEN, Priority.HIGH);
+        TaskCounts counts = counter.counts(OWNER);
+
+        assertThat(counts.total()).isEqualTo(3);
+        verify(taskRepository, times(2)).countByOwnerIds(anyCollection());
+    }
+}
@@ -1,5 +1,114 @@
 package com.example.TaskManagerBackend;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.User;
+import com.example.TaskManagerBackend.repository.TaskRepository;
+import com.example.TaskManagerBackend.repository.UserRepository;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class TaskRepositoryTest {
-    
+
+    private static final LocalDateTime EARLY = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final LocalDateTime TIED = LocalDateTime.of(2024, 1, 2, 9, 0);
+    private static final LocalDateTime LATE = LocalDateTime.of(2024, 1, 3, 9, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long owner;
+    private Long otherOwner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0, "pager-" + UUID.randomUUID(), "password", "User")).getId();
+        otherOwner = userRepository.save(new User(0, "pager-" + UUID.randomUUID(), "password", "User")).getId();
+    }
+
+    private Task save(Long ownerId, LocalDateTime created, Status status, Priority priority) {
+        Task task = new Task(0, "task", "", status, created, priority);
+        task.setOwnerId(ownerId);
+        return taskRepository.save(task);
+    }
+
+    /** Follows the keyset cursor the way the service does, one page at a time. */
+    private List<Long> walk(Status status, Priority priority, int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        List<Task> page = taskRepository.findFirstPage(owner, status, priority, PageRequest.of(0, pageSize));
+        while (!page.isEmpty()) {
+            page.forEach(task -> ids.add(task.getId()));
+            Task last = page.get(page.size() - 1);
+            page = taskRepository.findPageAfter(owner, status, priority, last.getCreationDateTime(), last.getId(),
+                PageRequest.of(0, pageSize));
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Pages break creation-time ties by id without skipping or repeating tasks")
+    void pagesThroughTies() {
+        Task late = save(owner, LATE, Status.OPEN, Priority.LOW);
+        Task tiedFirst = save(owner, TIED, Status.OPEN, Priority.LOW);
+        Task tiedSecond = save(owner, TIED, Status.CLOSED, Priority.HIGH);
+        Task tiedThird = save(owner, TIED, Status.OPEN, Priority.MEDIUM);
+        Task early = save(owner, EARLY, Status.BLOCKED, Priority.LOW);
+        save(otherOwner, TIED, Status.OPEN, Priority.LOW);
+
+        List<Long> ids = walk(null, null, 2);
+
+        assertThat(ids).containsExactly(early.getId(), tiedFirst.getId(), tiedSecond.getId(), tiedThird.getId(), late.getId());
+    }
+
+    @Test
+    @DisplayName("A cursor inside a run of ties resumes at the next id")
+    void resumesInsideTies() {
+        Task tiedFirst = save(owner, TIED, Status.OPEN, Priority.LOW);
+        Task tiedSecond = save(owner, TIED, Status.OPEN, Priority.LOW);
+        Task tiedThird = save(owner, TIED, Status.OPEN, Priority.LOW);
+
+        List<Task> page = taskRepository.findPageAfter(owner, null, null, TIED, tiedFirst.getId(), PageRequest.of(0, 10));
+
+        assertThat(page).extracting(Task::getId).containsExactly(tiedSecond.getId(), tiedThird.getId());
+    }
+
+    @Test
+    @DisplayName("Status and priority filters apply to every page")
+    void filtersEveryPage() {
+        Task openLow = save(owner, EARLY, Status.OPEN, Priority.LOW);
+        save(owner, EARLY, Status.CLOSED, Priority.LOW);
+        Task openHigh = save(owner, TIED, Status.OPEN, Priority.HIGH);
+        Task openLowTied = save(owner, TIED, Status.OPEN, Priority.LOW);
+        save(owner, TIED, Status.BLOCKED, Priority.LOW);
+        Task openLowLate = save(owner, LATE, Status.OPEN, Priority.LOW);
+        save(otherOwner, LATE, Status.OPEN, Priority.LOW);
+
+        assertThat(walk(Status.OPEN, null, 1))
+            .containsExactly(openLow.getId(), openHigh.getId(), openLowTied.getId(), openLowLate.getId());
+        assertThat(walk(null, Priority.LOW, 2)).hasSize(5).doesNotContain(openHigh.getId());
+        assertThat(walk(Status.OPEN, Priority.LOW, 2))
+            .containsExactly(openLow.getId(), openLowTied.getId(), openLowLate.getId());
+        assertThat(walk(Status.INPROGRESS, null, 2)).isEmpty();
+    }
 }
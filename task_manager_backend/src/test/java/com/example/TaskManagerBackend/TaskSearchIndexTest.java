@@ -0,0 +1,115 @@
+package com.example.TaskManagerBackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.TaskSearchResult;
+import com.example.TaskManagerBackend.service.TaskSearchIndex;
+
+public class TaskSearchIndexTest {
+
+    private static final long OWNER = 1;
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex();
+        index.index(task(1, OWNER, "Fix login page", "Button overlaps the form"));
+        index.index(task(2, OWNER, "Write docs", "Document the login flow"));
+        index.index(task(3, OWNER, "Refactor billing", "Split invoice service"));
+    }
+
+    private static Task task(long id, long ownerId, String title, String description) {
+        Task task = new Task(id, title, description, Status.OPEN, LocalDateTime.now(), Priority.MEDIUM);
+        task.setOwnerId(ownerId);
+        return task;
+    }
+
+    @Test
+    @DisplayName("Title matches rank above description matches")
+    void ranksTitleMatchesFirst() {
+        TaskSearchResult result = index.search(OWNER, "login", 0, 10);
+
+        assertThat(result.ids()).containsExactly(1L, 2L);
+        assertThat(result.total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Last query term matches as a prefix and all terms must match")
+    void matchesPrefixOfLastTerm() {
+        assertThat(index.search(OWNER, "split inv", 0, 10).ids()).containsExactly(3L);
+        assertThat(index.search(OWNER, "login inv", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Results are paginated")
+    void paginates() {
+        assertThat(index.search(OWNER, "login", 1, 1).ids()).containsExactly(2L);
+        assertThat(index.search(OWNER, "login", 2, 1).ids()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Updating a field replaces only that field's terms")
+    void updatesSingleField() {
+        index.update(3, "Refactor payments", null);
+
+        assertThat(index.search(OWNER, "billing", 0, 10).ids()).isEmpty();
+        assertThat(index.search(OWNER, "payments invoice", 0, 10).ids()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Concurrent updates of different fields both survive")
+    void keepsConcurrentFieldUpdates() throws Exception {
+        for (long id = 100; id < 300; id++) {
+            index.index(task(id, OWNER, "draft", "pending"));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        Thread titles = Thread.ofPlatform().start(() -> {
+            awaitQuietly(start);
+            for (long id = 100; id < 300; id++) {
+                index.update(id, "renamed", null);
+            }
+        });
+        Thread descriptions = Thread.ofPlatform().start(() -> {
+            awaitQuietly(start);
+            for (long id = 100; id < 300; id++) {
+                index.update(id, null, "described");
+            }
+        });
+        start.countDown();
+        titles.join();
+        descriptions.join();
+
+        assertThat(index.search(OWNER, "renamed", 0, 500).total()).isEqualTo(200);
+        assertThat(index.search(OWNER, "described", 0, 500).total()).isEqualTo(200);
+        assertThat(index.search(OWNER, "draft", 0, 500).total()).isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("Searches only see the caller's tasks")
+    void scopesResultsToOwner() {
+        index.index(task(4, 2, "Fix login timeout", "Session expires early"));
+
+        assertThat(index.search(OWNER, "login", 0, 10).ids()).containsExactly(1L, 2L);
+        assertThat(index.search(2, "login", 0, 10).ids()).containsExactly(4L);
+        assertThat(index.search(3, "login", 0, 10).ids()).isEmpty();
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.TaskManagerBackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.User;
+import com.example.TaskManagerBackend.models.UserPrincipal;
+import com.example.TaskManagerBackend.repository.TaskRepository;
+import com.example.TaskManagerBackend.repository.UserRepository;
+import com.example.TaskManagerBackend.service.TaskCounter;
+import com.example.TaskManagerBackend.service.TaskEventPublisher;
+import com.example.TaskManagerBackend.service.TaskSearchIndex;
+import com.example.TaskManagerBackend.service.TaskService;
+import com.example.TaskManagerBackend.service.TaskWriteBehind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskService.class)
+@TestPropertySource(properties = { "tasks.batch.max-size=5", "tasks.batch.chunk-size=2" })
+public class TaskServiceBatchTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private TaskSearchIndex searchIndex;
+
+    @MockitoBean
+    private TaskEventPublisher eventPublisher;
+
+    @MockitoBean
+    private TaskCounter taskCounter;
+
+    @MockitoBean
+    private TaskWriteBehind writeBehind;
+
+    @MockitoBean
+    private ObjectMapper objectMapper;
+
+    private User caller;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        caller = userRepository.save(new User(0, "batch-" + UUID.randomUUID(), "password", "User"));
+        other = userRepository.save(new User(0, "batch-" + UUID.randomUUID(), "password", "User"));
+        UserPrincipal principal = new UserPrincipal(caller);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static List<Task> tasks(int count, String title) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Task(0, title + " " + i, "", Status.OPEN, null, Priority.MEDIUM));
+        }
+        return tasks;
+    }
+
+    private Task saved(User owner, String title) {
+        Task task = new Task(0, title, "", Status.OPEN, LocalDateTime.now(), Priority.LOW);
+        task.setOwnerId(owner.getId());
+        return taskRepository.save(task);
+    }
+
+    private List<Task> owned(User owner) {
+        entityManager.flush();
+        entityManager.clear();
+        return taskRepository.findAllByOwnerIdOrderByCreationDateTimeAscIdAsc(owner.getId(), PageRequest.of(0, 100));
+    }
+
+    @Test
+    @DisplayName("A batch create assigns fresh ids and the caller as owner across chunks")
+    void createsForCaller() {
+        List<Task> batch = tasks(5, "created");
+        batch.get(0).setId(Integer.MAX_VALUE);
+        batch.get(1).setOwnerId(other.getId());
+
+        List<Task> created = taskService.createTasks(batch);
+
+        assertThat(created).hasSize(5);
+        assertThat(created).extracting(Task::getId).doesNotHaveDuplicates().allMatch(id -> id > 0 && id != Integer.MAX_VALUE);
+        assertThat(created).extracting(Task::getOwnerId).containsOnly(caller.getId());
+        assertThat(created).extracting(Task::getCreationDateTime).doesNotContainNull();
+        assertThat(owned(caller)).extracting(Task::getId)
+            .containsExactlyInAnyOrderElementsOf(created.stream().map(Task::getId).toList());
+        assertThat(owned(other)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A create naming someone else's task id inserts a new task instead of taking theirs")
+    void createIgnoresClientId() {
+        Task foreign = saved(other, "theirs");
+        Task hijack = new Task(foreign.getId(), "mine now", "", Status.OPEN, null, Priority.LOW);
+        hijack.setVersion(foreign.getVersion());
+
+        Task created = taskService.createTask(hijack);
+
+        assertThat(created.getId()).isNotEqualTo(foreign.getId());
+        assertThat(created.getOwnerId()).isEqualTo(caller.getId());
+        assertThat(owned(other)).extracting(Task::getTitle).containsExactly("theirs");
+        assertThat(owned(caller)).extracting(Task::getTitle).containsExactly("mine now");
+    }
+
+    @Test
+    @DisplayName("A batch update changes the caller's tasks across chunks")
+    void updatesOwnedTasks() {
+        List<Task> changes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Task existing = saved(caller, "before " + i);
+            changes.add(new Task(existing.getId(), "after " + i, "changed", Status.CLOSED, null, Priority.HIGH));
+        }
+
+        List<Task> updated = taskService.updateTasks(changes);
+
+        assertThat(updated).extracting(Task::getId).containsExactlyElementsOf(changes.stream().map(Task::getId).toList());
+        assertThat(owned(caller)).allSatisfy(task -> {
+            assertThat(task.getTitle()).startsWith("after ");
+            assertThat(task.getStatus()).isEqualTo(Status.CLOSED);
+            assertThat(task.getPriority()).isEqualTo(Priority.HIGH);
+            assertThat(task.getOwnerId()).isEqualTo(caller.getId());
+        });
+    }
+
+    @Test
+    @DisplayName("Every committed write moves the task list's entity tag")
+    void bumpsListStamp() {
+        assertThat(taskService.getTasksStamp().etag()).isEqualTo("0");
+
+        List<Task> created = taskService.createTasks(tasks(2, "listed"));
+        String afterCreate = taskService.getTasksStamp().etag();
+        taskService.updateTasks(List.of(new Task(created.get(0).getId(), "renamed", "", Status.CLOSED, null, Priority.LOW)));
+        String afterUpdate = taskService.getTasksStamp().etag();
+        taskService.createTask(new Task(0, "single", "", Status.OPEN, null, Priority.LOW));
+
+        assertThat(afterCreate).isEqualTo("1");
+        assertThat(afterUpdate).isEqualTo("2");
+        assertThat(taskService.getTasksStamp().etag()).isEqualTo("3");
+        assertThat(taskService.getTasksStamp().lastModified()).isNull();
+    }
+
+    @Test
+    @DisplayName("A batch update naming someone else's task is rejected as not found")
+    void rejectsForeignTask() {
+        Task foreign = saved(other, "theirs");
+        List<Task> changes = List.of(new Task(foreign.getId(), "mine now", "", Status.OPEN, null, Priority.LOW));
+
+        assertThatThrownBy(() -> taskService.updateTasks(changes)).isInstanceOf(NoSuchElementException.class);
+        assertThat(owned(other)).extracting(Task::getTitle).containsExactly("theirs");
+    }
+
+    @Test
+    @DisplayName("Batches above tasks.batch.max-size are rejected before anything is written")
+    void rejectsOversizedBatch() {
+        Task existing = saved(caller, "existing");
+        List<Task> changes = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            changes.add(new Task(existing.getId(), "too many", "", Status.OPEN, null, Priority.LOW));
+        }
+
+        assertThatThrownBy(() -> taskService.createTasks(tasks(6, "too many")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("5");
+        assertThatThrownBy(() -> taskService.updateTasks(changes))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(owned(caller)).extracting(Task::getTitle).containsExactly("existing");
+        assertThat(taskService.createTasks(tasks(5, "at limit"))).hasSize(5);
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.TaskManagerBackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.zip.CRC32C;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.TaskManagerBackend.config.ReadYourWritesTracker;
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.User;
+import com.example.TaskManagerBackend.models.WriteAck;
+import com.example.TaskManagerBackend.repository.TaskRepository;
+import com.example.TaskManagerBackend.repository.TaskRevisionRepository;
+import com.example.TaskManagerBackend.repository.UserRepository;
+import com.example.TaskManagerBackend.service.TaskWriteBehind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Drives the write-behind queue against an in-memory database. The test
+ * transaction is disabled because the writer commits on its own thread.
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TaskWriteBehindTest {
+
+    /** Well above anything the sequence hands out to the other tests. */
+    private static final AtomicLong JOURNAL_IDS = new AtomicLong(900_000_000L);
+
+    @TempDir
+    Path journal;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRevisionRepository taskRevisions;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final List<Task> committed = new CopyOnWriteArrayList<>();
+    private ReadYourWritesTracker readYourWrites;
+    private SimpleMeterRegistry meterRegistry;
+    private User owner;
+    private TaskWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0, "writer-" + UUID.randomUUID(), "password", "User"));
+        readYourWrites = new ReadYourWritesTracker();
+        ReflectionTestUtils.setField(readYourWrites, "window", Duration.ofSeconds(5));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(owner.getUsername(), null, "User"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (writeBehind != null) {
+            ReflectionTestUtils.invokeMethod(writeBehind, "stop");
+        }
+    }
+
+    private TaskWriteBehind open(int maxPending) {
+        writeBehind = new TaskWriteBehind();
+        ReflectionTestUtils.setField(writeBehind, "entityManagerFactory", entityManagerFactory);
+        ReflectionTestUtils.setField(writeBehind, "entityManager", SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        ReflectionTestUtils.setField(writeBehind, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(writeBehind, "objectMapper", objectMapper);
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(writeBehind, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(writeBehind, "readYourWrites", readYourWrites);
+        ReflectionTestUtils.setField(writeBehind, "taskRevisions", taskRevisions);
+        ReflectionTestUtils.setField(writeBehind, "enabled", true);
+        ReflectionTestUtils.setField(writeBehind, "journalDir", journal);
+        ReflectionTestUtils.setField(writeBehind, "segmentSize", 64L * 1024 * 1024);
+        ReflectionTestUtils.setField(writeBehind, "batchSize", 200);
+        ReflectionTestUtils.setField(writeBehind, "maxPending", maxPending);
+        ReflectionTestUtils.setField(writeBehind, "flushInterval", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(writeBehind, "commitTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(writeBehind, "defaultAck", WriteAck.JOURNALED);
+        writeBehind.onCommitted(committed::addAll);
+        ReflectionTestUtils.invokeMethod(writeBehind, "start");
+        return writeBehind;
+    }
+
+    private void startWriter() {
+        ReflectionTestUtils.invokeMethod(writeBehind, "startWriter");
+    }
+
+    private Task task(long id, String title) {
+        Task task = new Task(id, title, "", Status.OPEN, LocalDateTime.now(), Priority.MEDIUM);
+        task.setOwnerId(owner.getId());
+        task.setUpdatedAt(Task.now());
+        return task;
+    }
+
+    private Task journaled(String title) {
+        return task(JOURNAL_IDS.incrementAndGet(), title);
+    }
+
+    /** Encodes a task the way the journal does: length, CRC32C, JSON payload. */
+    private byte[] record(Task task) throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", task.getId());
+        fields.put("title", task.getTitle());
+        fields.put("description", task.getDescription());
+        fields.put("status", task.getStatus());
+        fields.put("creationDateTime", task.getCreationDateTime());
+        fields.put("priority", task.getPriority());
+        fields.put("updatedAt", task.getUpdatedAt());
+        fields.put("ownerId", task.getOwnerId());
+        byte[] payload = objectMapper.writeValueAsBytes(fields);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return ByteBuffer.allocate(8 + payload.length)
+            .putInt(payload.length)
+            .putInt((int) crc.getValue())
+            .put(payload)
+            .array();
+    }
+
+    private Path segment(long number) {
+        return journal.resolve(String.format("%020d.journal", number));
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("timed out").isNegative();
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Replay stops at a torn record and truncates it")
+    void truncatesTornTail() throws Exception {
+        Task first = journaled("first");
+        Task second = journaled("second");
+        Task torn = journaled("torn");
+        byte[] valid = concat(record(first), record(second));
+        byte[] partial = record(torn);
+        Files.write(segment(1), concat(valid, Arrays.copyOf(partial, partial.length / 2)));
+
+        open(100);
+
+        assertThat(writeBehind.pending(first.getId())).isNotNull();
+        assertThat(writeBehind.pending(second.getId())).isNotNull();
+        assertThat(writeBehind.pending(torn.getId())).isNull();
+        assertThat(Files.size(segment(1))).isEqualTo(valid.length);
+    }
+
+    @Test
+    @DisplayName("Replay stops at a record whose checksum does not match")
+    void rejectsCorruptRecord() throws Exception {
+        Task first = journaled("first");
+        Task corrupt = journaled("corrupt");
+        Task after = journaled("after");
+        byte[] valid = record(first);
+        byte[] damaged = record(corrupt);
+        damaged[damaged.length - 2] ^= 0x01;
+        Files.write(segment(1), concat(valid, damaged, record(after)));
+
+        open(100);
+
+        assertThat(writeBehind.pending(first.getId())).isNotNull();
+        assertThat(writeBehind.pending(corrupt.getId())).isNull();
+        assertThat(writeBehind.pending(after.getId())).isNull();
+        assertThat(Files.size(segment(1))).isEqualTo(valid.length);
+    }
+
+    @Test
+    @DisplayName("Replay skips tasks committed before the restart and deletes the replayed segment")
+    void skipsCommittedTasksOnReplay() throws Exception {
+        Task existing = taskRepository.save(task(0, "committed"));
+        Task copy = task(existing.getId(), "journal copy");
+        Task missing = journaled("missing");
+        Files.write(segment(1), concat(record(copy), record(missing)));
+
+        open(100);
+        startWriter();
+        await(() -> !committed.isEmpty());
+
+        assertThat(taskRepository.findById((int) missing.getId())).isPresent();
+        assertThat(taskRepository.findById((int) existing.getId()).orElseThrow().getTitle()).isEqualTo("committed");
+        assertThat(committed).extracting(Task::getId).containsExactly(missing.getId());
+        assertThat(segment(1)).doesNotExist();
+        assertThat(segment(2)).exists();
+    }
+
+    @Test
+    @DisplayName("A committed task is readable by its creator from the primary")
+    void recordsWriteForSubmitter() throws Exception {
+        open(100);
+        startWriter();
+
+        Task task = writeBehind.submit(task(0, "live"), WriteAck.COMMITTED);
+
+        assertThat(task.getId()).isPositive();
+        assertThat(writeBehind.pending(task.getId())).isNull();
+        assertThat(readYourWrites.wroteRecently(owner.getUsername())).isTrue();
+        assertThat(taskRepository.findById((int) task.getId())).isPresent();
+        assertThat(taskRevisions.findRevision(owner.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A task the database rejects is dead-lettered without holding up the rest of its batch")
+    void deadLettersRejectedTask() throws Exception {
+        open(100);
+        Task before = writeBehind.submit(task(0, "before"), WriteAck.QUEUED);
+        Task orphan = task(0, "orphan");
+        orphan.setOwnerId(Long.MAX_VALUE);
+        writeBehind.submit(orphan, WriteAck.QUEUED);
+        Task after = writeBehind.submit(task(0, "after"), WriteAck.QUEUED);
+
+        startWriter();
+        await(() -> writeBehind.pending(before.getId()) == null
+            && writeBehind.pending(orphan.getId()) == null
+            && writeBehind.pending(after.getId()) == null);
+
+        assertThat(taskRepository.findById((int) before.getId())).isPresent();
+        assertThat(taskRepository.findById((int) after.getId())).isPresent();
+        assertThat(taskRepository.findById((int) orphan.getId())).isEmpty();
+        assertThat(committed).extracting(Task::getId).containsExactlyInAnyOrder(before.getId(), after.getId());
+        assertThat(meterRegistry.get("tasks.write-behind.dead-lettered").counter().count()).isEqualTo(1);
+        Task next = writeBehind.submit(task(0, "next"), WriteAck.COMMITTED);
+        assertThat(taskRepository.findById((int) next.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("A full queue sends the caller to the synchronous path")
+    void fallsBackWhenFull() {
+        open(1);
+
+        Task queued = writeBehind.submit(task(0, "queued"), WriteAck.QUEUED);
+        Task rejected = writeBehind.submit(task(0, "rejected"), WriteAck.QUEUED);
+
+        assertThat(queued).isNotNull();
+        assertThat(writeBehind.pending(queued.getId())).isNotNull();
+        assertThat(rejected).isNull();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.TaskManagerBackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.example.TaskManagerBackend.config.ReadYourWritesTracker;
+import com.example.TaskManagerBackend.models.Priority;
+import com.example.TaskManagerBackend.models.Status;
+import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.User;
+import com.example.TaskManagerBackend.repository.TaskRepository;
+import com.example.TaskManagerBackend.repository.UserRepository;
+import com.example.TaskManagerBackend.service.JWTService;
+import com.example.TaskManagerBackend.service.MyUserDetailsService;
+import com.example.TaskManagerBackend.service.RefreshTokenStore;
+import com.example.TaskManagerBackend.service.TaskCounter;
+import com.example.TaskManagerBackend.service.TaskSearchIndex;
+import com.example.TaskManagerBackend.service.UserService;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(UserService.class)
+public class UserRemovalTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private AuthenticationManager authenticationManager;
+
+    @MockitoBean
+    private JWTService jwtService;
+
+    @MockitoBean
+    private MyUserDetailsService userDetailsService;
+
+    @MockitoBean
+    private ReadYourWritesTracker readYourWrites;
+
+    @MockitoBean
+    private RefreshTokenStore refreshTokens;
+
+    @MockitoBean
+    private TaskSearchIndex searchIndex;
+
+    @MockitoBean
+    private TaskCounter taskCounter;
+
+    private Task saved(User owner, String title) {
+        Task task = new Task(0, title, "", Status.OPEN, LocalDateTime.now(), Priority.LOW);
+        task.setOwnerId(owner.getId());
+        return taskRepository.save(task);
+    }
+
+    @Test
+    @DisplayName("Deleting a user who owns tasks removes the user and only their tasks")
+    void removesUserWithTasks() {
+        User leaving = userRepository.save(new User(0, "leaving-" + UUID.randomUUID(), "password", "User"));
+        User staying = userRepository.save(new User(0, "staying-" + UUID.randomUUID(), "password", "User"));
+        saved(leaving, "first");
+        saved(leaving, "second");
+        Task kept = saved(staying, "kept");
+        entityManager.flush();
+
+        userService.removeUser(leaving.getUsername());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(userRepository.findByUsername(leaving.getUsername())).isNull();
+        assertThat(taskRepository.findAllByOwnerIdOrderByCreationDateTimeAscIdAsc(leaving.getId(), PageRequest.of(0, 10))).isEmpty();
+        assertThat(taskRepository.findById((int) kept.getId())).isPresent();
+        verify(refreshTokens).revokeUser(leaving.getUsername());
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.TaskManagerBackend.controllers;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,19 +15,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 
 import com.example.TaskManagerBackend.models.Priority;
 import com.example.TaskManagerBackend.models.Status;
 import com.example.TaskManagerBackend.models.Task;
+import com.example.TaskManagerBackend.models.TaskCounts;
+import com.example.TaskManagerBackend.models.TaskPage;
+import com.example.TaskManagerBackend.models.TaskPatch;
+import com.example.TaskManagerBackend.models.TaskSearchResult;
+import com.example.TaskManagerBackend.models.TaskStamp;
+import com.example.TaskManagerBackend.models.WriteAck;
 import com.example.TaskManagerBackend.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.hamcrest.Matchers.hasItem;
 
 @SpringBootTest
 @AutoConfigureMockMvc(addFilters = false)
@@ -63,6 +80,92 @@ public class TaskControllerTest {
         
     }
 
+    @Test
+    @DisplayName("Test that an unchanged task list is answered with 304")
+    public void getAllTasksNotModified() throws Exception {
+        // Arrange
+        when(taskService.getTasksStamp()).thenReturn(new TaskStamp("42", null));
+
+        // Act and Assert
+        mockMvc.perform(get("/tasks").header("If-None-Match", "\"42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"42\""));
+        verify(taskService, never()).getAllTasks();
+    }
+
+    @Test
+    @DisplayName("Test to get a filtered page of tasks")
+    public void getTaskPage() throws Exception {
+        // Arrange
+        when(taskService.getTaskPage(Status.OPEN, null, null, 2))
+                .thenReturn(new TaskPage(Arrays.asList(new Task(1, "test", "test", Status.OPEN, LocalDateTime.now(), Priority.LOW),
+                                                       new Task(4, "test4", "test4", Status.OPEN, LocalDateTime.now(), Priority.HIGH)),
+                                         "next"));
+
+        // Act and Assert
+        mockMvc.perform(get("/tasks/page").param("status", "OPEN").param("size", "2")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].id").value(1))
+                .andExpect(jsonPath("$.tasks[1].id").value(4))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("Test to resume the task event stream")
+    public void streamTaskEvents() throws Exception {
+        // Arrange
+        when(taskService.subscribeToEvents("k3x9-5")).thenReturn(new SseEmitter());
+
+        // Act and Assert
+        mockMvc.perform(get("/tasks/events").header("Last-Event-ID", "k3x9-5"))
+                .andExpect(request().asyncStarted());
+        verify(taskService).subscribeToEvents("k3x9-5");
+    }
+
+    @Test
+    @DisplayName("Test to search tasks")
+    public void searchTasks() throws Exception {
+        // Arrange
+        when(taskService.searchTasks("login", 0, 20)).thenReturn(new TaskSearchResult(Arrays.asList(7L, 3L), 2));
+
+        // Act and Assert
+        mockMvc.perform(get("/tasks/search").param("q", "login")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.ids[0]").value(7))
+                .andExpect(jsonPath("$.ids[1]").value(3))
+                .andExpect(jsonPath("$.total").value(2));
+    }
+
+    @Test
+    @DisplayName("Test to get task counts")
+    public void getTaskCounts() throws Exception {
+        // Arrange
+        when(taskService.getTaskCounts()).thenReturn(new TaskCounts(3,
+                Map.of(Status.OPEN, 2L, Status.CLOSED, 1L),
+                Map.of(Priority.HIGH, 3L)));
+
+        // Act and Assert
+        mockMvc.perform(get("/tasks/counts")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.OPEN").value(2))
+                .andExpect(jsonPath("$.byStatus.CLOSED").value(1))
+                .andExpect(jsonPath("$.byPriority.HIGH").value(3));
+    }
+
+    @Test
+    @DisplayName("Test to export tasks as NDJSON")
+    public void exportTasks() throws Exception {
+        // Arrange
+        when(taskService.exportTasks(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        // Act and Assert
+        mockMvc.perform(get("/tasks/export")).andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
     @Test
     @DisplayName("Test to get a task")
     public void getTask() throws Exception {
@@ -80,6 +183,66 @@ public class TaskControllerTest {
         
     }
 
+    @Test
+    @DisplayName("Test to get a task that does not exist or belongs to someone else")
+    public void getMissingTask() throws Exception {
+        // Arrange
+        when(taskService.getTask(99)).thenThrow(new NoSuchElementException("Task not found: 99"));
+
+        // Act and Assert
+        mockMvc.perform(get("/task/99")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Test to update a task that does not exist or belongs to someone else")
+    public void putMissingTask() throws Exception {
+        // Arrange
+        when(taskService.updateTask(eq(99), any(Task.class))).thenThrow(new NoSuchElementException("Task not found: 99"));
+
+        // Act and Assert
+        mockMvc.perform(put("/updatetask/99")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"test\", \"status\":\"OPEN\", \"priority\":\"LOW\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Test to get a task as CBOR")
+    public void getTaskAsCbor() throws Exception {
+        // Arrange
+        when(taskService.getTask(1))
+                .thenReturn(new Task(1, "test", "test", Status.OPEN, LocalDateTime.now(), Priority.LOW));
+
+        // Act and Assert
+        byte[] body = mockMvc.perform(get("/task/1").accept("application/cbor")).andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        Task task = new ObjectMapper(new CBORFactory()).findAndRegisterModules().readValue(body, Task.class);
+        assertEquals("test", task.getTitle());
+        assertEquals(Status.OPEN, task.getStatus());
+    }
+
+    @Test
+    @DisplayName("Test that JSON and CBOR representations of a task have different entity tags")
+    public void getTaskETagPerRepresentation() throws Exception {
+        // Arrange
+        Task task = new Task(1, "test", "test", Status.OPEN, LocalDateTime.now(), Priority.LOW);
+        task.setVersion(3);
+        task.setUpdatedAt(Instant.parse("2023-11-14T22:13:20Z"));
+        when(taskService.getTask(1)).thenReturn(task);
+
+        // Act and Assert
+        mockMvc.perform(get("/task/1").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+        mockMvc.perform(get("/task/1").accept("application/cbor").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-cbor\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+        mockMvc.perform(get("/task/1").accept("application/cbor").header("If-None-Match", "\"3-cbor\""))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     @DisplayName("Test to post a task")
     public void postTask() throws Exception {
@@ -94,6 +257,22 @@ public class TaskControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    @DisplayName("Test to post a task with an acknowledgement mode")
+    public void postTaskWithAck() throws Exception {
+        // Arrange
+        when(taskService.createTask(any(Task.class), eq(WriteAck.COMMITTED)))
+                .thenReturn(new Task(51, "test", "test", Status.OPEN, LocalDateTime.now(), Priority.LOW));
+
+        // Act and Assert
+        mockMvc.perform(post("/createtask").param("ack", "COMMITTED")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"test\", \"description\":\"test\", \"status\":\"OPEN\", \"priority\":\"LOW\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(51));
+        verify(taskService, never()).createTask(any(Task.class));
+    }
+
     @Test
     @DisplayName("Test to update a task")
     public void updateTask() throws Exception {
@@ -108,4 +287,64 @@ public class TaskControllerTest {
                 .andExpect(status().isOk());
                 
     }
+
+    @Test
+    @DisplayName("Test to post a batch of tasks")
+    public void postTasks() throws Exception {
+        // Arrange
+        when(taskService.createTasks(anyList()))
+                .thenReturn(Arrays.asList(new Task(1, "test", "test", Status.OPEN, LocalDateTime.now(), Priority.LOW),
+                                           new Task(2, "test2", "test2", Status.OPEN, LocalDateTime.now(), Priority.HIGH)));
+
+        // Act and Assert
+        mockMvc.perform(post("/createtasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"test\", \"status\":\"OPEN\", \"priority\":\"LOW\"}, {\"title\":\"test2\", \"status\":\"OPEN\", \"priority\":\"HIGH\"}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    @DisplayName("Test to patch a task status")
+    public void patchTask() throws Exception {
+        // Arrange
+        when(taskService.patchTask(1L, new TaskPatch(null, null, Status.CLOSED, null, 3L))).thenReturn(4L);
+
+        // Act and Assert
+        mockMvc.perform(patch("/task/{id}", 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"CLOSED\", \"version\":3}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    @DisplayName("Test to patch a task with a stale version")
+    public void patchTaskConflict() throws Exception {
+        // Arrange
+        when(taskService.patchTask(1L, new TaskPatch(null, null, Status.CLOSED, null, 2L)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        // Act and Assert
+        mockMvc.perform(patch("/task/{id}", 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "\"2\"")
+                .content("{\"status\":\"CLOSED\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Test to patch a task that does not exist")
+    public void patchMissingTask() throws Exception {
+        // Arrange
+        when(taskService.patchTask(99L, new TaskPatch(null, null, Status.CLOSED, null, null)))
+                .thenThrow(new NoSuchElementException("Task not found: 99"));
+
+        // Act and Assert
+        mockMvc.perform(patch("/task/{id}", 99)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"CLOSED\"}"))
+                .andExpect(status().isNotFound());
+    }
 }
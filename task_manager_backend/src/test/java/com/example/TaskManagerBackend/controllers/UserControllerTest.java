@@ -5,10 +5,15 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Arrays;
+
+import jakarta.servlet.http.Cookie;
+
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -17,7 +22,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import com.example.TaskManagerBackend.models.TokenPair;
 import com.example.TaskManagerBackend.models.User;
+import com.example.TaskManagerBackend.service.InvalidRefreshTokenException;
 import com.example.TaskManagerBackend.service.UserService;
 
 @SpringBootTest
@@ -83,6 +90,60 @@ public class UserControllerTest {
                 .andExpect(content().string("mockedToken"));
     }
 
+    @Test
+    @DisplayName("Test login sets the refresh cookie")
+    public void testLoginSetsRefreshCookie() throws Exception {
+        // Arrange
+        when(userService.verify(new User(1,"testUser", "testPassword","User")))
+                .thenReturn("mockedToken");
+        when(userService.startSession("mockedToken")).thenReturn("session.secret");
+        // Act and Assert
+        mockMvc.perform(post("/login")
+                .contentType("application/json")
+                .content("{\"username\":\"testUser\", \"password\":\"testPassword\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("mockedToken"))
+                .andExpect(header().string("Set-Cookie", Matchers.allOf(
+                        Matchers.containsString("refresh_token=session.secret"),
+                        Matchers.containsString("HttpOnly"))));
+    }
+
+    @Test
+    @DisplayName("Test refresh rotates the cookie and returns a new access token")
+    public void testRefresh() throws Exception {
+        // Arrange
+        when(userService.refresh("session.old"))
+                .thenReturn(new TokenPair("newAccessToken", "session.new"));
+        // Act and Assert
+        mockMvc.perform(post("/refresh").cookie(new Cookie("refresh_token", "session.old")))
+                .andExpect(status().isOk())
+                .andExpect(content().string("newAccessToken"))
+                .andExpect(header().string("Set-Cookie", Matchers.containsString("refresh_token=session.new")));
+    }
+
+    @Test
+    @DisplayName("Test refresh with a reused token returns 401")
+    public void testRefreshRejected() throws Exception {
+        // Arrange
+        when(userService.refresh("session.old"))
+                .thenThrow(new InvalidRefreshTokenException("Refresh token already used"));
+        // Act and Assert
+        mockMvc.perform(post("/refresh").cookie(new Cookie("refresh_token", "session.old")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Test logout clears the refresh cookie")
+    public void testLogout() throws Exception {
+        // Act and Assert
+        mockMvc.perform(post("/logout")
+                .cookie(new Cookie("refresh_token", "session.secret"))
+                .header("Authorization", "Bearer mockedToken"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Set-Cookie", Matchers.containsString("Max-Age=0")));
+        Mockito.verify(userService).logout("session.secret", "mockedToken");
+    }
+
     @Test
     @DisplayName("Test deleteUser method")
     public void testDeleteUser() throws Exception {